@@ -0,0 +1,68 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common;
+
+import org.zkoss.zk.ui.Desktop;
+
+/**
+ * Server push shared by streaming operations of one desktop (search, command output). Pages are included into the same desktop,
+ * so server push is enabled by first started operation and disabled only when the last running operation is finished.
+ *
+ * @author JDev
+ */
+public final class DesktopServerPush {
+
+    private static final String ACTIVE_OPERATIONS_ATTRIBUTE = "kubehelper.server.push.active.operations";
+
+    private DesktopServerPush() {
+    }
+
+    /**
+     * Registers streaming operation and enables server push if it is not enabled.
+     *
+     * @param desktop - current desktop.
+     */
+    public static void acquire(Desktop desktop) {
+        synchronized (desktop) {
+            desktop.setAttribute(ACTIVE_OPERATIONS_ATTRIBUTE, getActiveOperations(desktop) + 1);
+            if (!desktop.isServerPushEnabled()) {
+                desktop.enableServerPush(true);
+            }
+        }
+    }
+
+    /**
+     * Unregisters finished streaming operation. Server push is disabled if no other operation is running.
+     *
+     * @param desktop - desktop of finished operation.
+     */
+    public static void release(Desktop desktop) {
+        synchronized (desktop) {
+            int activeOperations = Math.max(0, getActiveOperations(desktop) - 1);
+            desktop.setAttribute(ACTIVE_OPERATIONS_ATTRIBUTE, activeOperations);
+            if (activeOperations == 0 && desktop.isServerPushEnabled()) {
+                desktop.enableServerPush(false);
+            }
+        }
+    }
+
+    private static int getActiveOperations(Desktop desktop) {
+        Object activeOperations = desktop.getAttribute(ACTIVE_OPERATIONS_ATTRIBUTE);
+        return activeOperations instanceof Integer ? (Integer) activeOperations : 0;
+    }
+}
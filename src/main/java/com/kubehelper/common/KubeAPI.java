@@ -17,7 +17,11 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.common;
 
+import com.kubehelper.domain.core.CancellationHandle;
 import com.kubehelper.domain.models.PageModel;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
 import io.kubernetes.client.openapi.apis.BatchV1Api;
@@ -25,33 +29,58 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.apis.NetworkingV1Api;
 import io.kubernetes.client.openapi.apis.PolicyV1beta1Api;
 import io.kubernetes.client.openapi.apis.RbacAuthorizationV1beta1Api;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1DaemonSet;
 import io.kubernetes.client.openapi.models.V1DaemonSetList;
+import io.kubernetes.client.openapi.models.V1Deployment;
 import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Job;
 import io.kubernetes.client.openapi.models.V1JobList;
+import io.kubernetes.client.openapi.models.V1Namespace;
 import io.kubernetes.client.openapi.models.V1NamespaceList;
+import io.kubernetes.client.openapi.models.V1NetworkPolicy;
 import io.kubernetes.client.openapi.models.V1NetworkPolicyList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PersistentVolume;
+import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeList;
+import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1ReplicaSet;
 import io.kubernetes.client.openapi.models.V1ReplicaSetList;
+import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretList;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceAccount;
 import io.kubernetes.client.openapi.models.V1ServiceAccountList;
 import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.openapi.models.V1StatefulSet;
 import io.kubernetes.client.openapi.models.V1StatefulSetList;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
 import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
 import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBindingList;
 import io.kubernetes.client.openapi.models.V1beta1ClusterRoleList;
+import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudget;
 import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudgetList;
+import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicy;
 import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicyList;
+import io.kubernetes.client.openapi.models.V1beta1Role;
 import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
 import io.kubernetes.client.openapi.models.V1beta1RoleBindingList;
 import io.kubernetes.client.openapi.models.V1beta1RoleList;
+import okhttp3.Call;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
 /**
  * @author JDev
  */
@@ -78,8 +107,15 @@ public class KubeAPI {
     @Autowired
     private PolicyV1beta1Api policyV1beta1Api;
 
+    @Autowired
+    private KubeAPICache kubeAPICache;
+
 
     public V1DeploymentList getV1DeploymentList(String selectedNamespace, PageModel model) {
+        List<V1Deployment> cached = kubeAPICache.list(V1Deployment.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1DeploymentList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return appsV1Api.listDeploymentForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -95,6 +131,10 @@ public class KubeAPI {
     }
 
     public V1DaemonSetList getV1DaemonSetList(String selectedNamespace, PageModel model) {
+        List<V1DaemonSet> cached = kubeAPICache.list(V1DaemonSet.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1DaemonSetList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return appsV1Api.listDaemonSetForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -110,6 +150,10 @@ public class KubeAPI {
     }
 
     public V1ReplicaSetList getV1ReplicaSetList(String selectedNamespace, PageModel model) {
+        List<V1ReplicaSet> cached = kubeAPICache.list(V1ReplicaSet.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1ReplicaSetList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return appsV1Api.listReplicaSetForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -125,6 +169,10 @@ public class KubeAPI {
     }
 
     public V1JobList getV1JobList(String selectedNamespace, PageModel model) {
+        List<V1Job> cached = kubeAPICache.list(V1Job.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1JobList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return batchV1Api.listJobForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -140,6 +188,10 @@ public class KubeAPI {
     }
 
     public V1beta1RoleList getV1RolesList(String selectedNamespace, PageModel model) {
+        List<V1beta1Role> cached = kubeAPICache.list(V1beta1Role.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1RoleList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return rbacAuthorizationV1beta1Api.listRoleForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -155,6 +207,10 @@ public class KubeAPI {
     }
 
     public V1beta1ClusterRoleList getV1ClusterRolesList(PageModel model) {
+        List<V1beta1ClusterRole> cached = kubeAPICache.list(V1beta1ClusterRole.class, null);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1ClusterRoleList().items(cached);
+        }
         try {
             return rbacAuthorizationV1beta1Api.listClusterRole(null, null, null, null, null, null, null, null, null);
         } catch (ApiException e) {
@@ -166,6 +222,10 @@ public class KubeAPI {
     }
 
     public V1beta1ClusterRoleBindingList getV1ClusterRolesBindingsList(PageModel model) {
+        List<V1beta1ClusterRoleBinding> cached = kubeAPICache.list(V1beta1ClusterRoleBinding.class, null);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1ClusterRoleBindingList().items(cached);
+        }
         try {
             return rbacAuthorizationV1beta1Api.listClusterRoleBinding(null, null, null, null, null, null, null, null, null);
         } catch (ApiException e) {
@@ -177,6 +237,10 @@ public class KubeAPI {
     }
 
     public V1beta1RoleBindingList getV1RolesBindingList(String selectedNamespace, PageModel model) {
+        List<V1beta1RoleBinding> cached = kubeAPICache.list(V1beta1RoleBinding.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1RoleBindingList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return rbacAuthorizationV1beta1Api.listRoleBindingForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -193,6 +257,10 @@ public class KubeAPI {
 
 
     public V1NetworkPolicyList getV1NetworkPolicyList(String selectedNamespace, PageModel model) {
+        List<V1NetworkPolicy> cached = kubeAPICache.list(V1NetworkPolicy.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1NetworkPolicyList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return networkingApi.listNetworkPolicyForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -209,6 +277,10 @@ public class KubeAPI {
 
 
     public V1beta1PodDisruptionBudgetList getV1beta1PodDisruptionBudgetsList(String selectedNamespace, PageModel model) {
+        List<V1beta1PodDisruptionBudget> cached = kubeAPICache.list(V1beta1PodDisruptionBudget.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1PodDisruptionBudgetList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return policyV1beta1Api.listPodDisruptionBudgetForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -225,6 +297,10 @@ public class KubeAPI {
 
 
     public V1beta1PodSecurityPolicyList getPolicyV1beta1PodSecurityPolicyList(PageModel model) {
+        List<V1beta1PodSecurityPolicy> cached = kubeAPICache.list(V1beta1PodSecurityPolicy.class, null);
+        if (Objects.nonNull(cached)) {
+            return new V1beta1PodSecurityPolicyList().items(cached);
+        }
         try {
             return policyV1beta1Api.listPodSecurityPolicy(null, null, null, null, null, null, null, null, null);
         } catch (ApiException e) {
@@ -237,6 +313,10 @@ public class KubeAPI {
 
 
     public V1StatefulSetList getV1StatefulSetList(String selectedNamespace, PageModel model) {
+        List<V1StatefulSet> cached = kubeAPICache.list(V1StatefulSet.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1StatefulSetList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return appsV1Api.listStatefulSetForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -259,6 +339,10 @@ public class KubeAPI {
      * @return - list with found services.
      */
     public V1ServiceList getV1ServicesList(String selectedNamespace, PageModel model) {
+        List<V1Service> cached = kubeAPICache.list(V1Service.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1ServiceList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listServiceForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -274,6 +358,10 @@ public class KubeAPI {
     }
 
     public V1PersistentVolumeList getV1PersistentVolumesList(PageModel model) {
+        List<V1PersistentVolume> cached = kubeAPICache.list(V1PersistentVolume.class, null);
+        if (Objects.nonNull(cached)) {
+            return new V1PersistentVolumeList().items(cached);
+        }
         try {
             return apiV1.listPersistentVolume(null, null, null, null, null, null, null, null, null);
         } catch (ApiException e) {
@@ -285,6 +373,10 @@ public class KubeAPI {
     }
 
     public V1PersistentVolumeClaimList getV1PersistentVolumeClaimsList(String selectedNamespace, PageModel model) {
+        List<V1PersistentVolumeClaim> cached = kubeAPICache.list(V1PersistentVolumeClaim.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1PersistentVolumeClaimList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listPersistentVolumeClaimForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -301,6 +393,10 @@ public class KubeAPI {
 
 
     public V1NamespaceList getV1NamespacesList(PageModel model) {
+        List<V1Namespace> cached = kubeAPICache.list(V1Namespace.class, null);
+        if (Objects.nonNull(cached)) {
+            return new V1NamespaceList().items(cached);
+        }
         try {
             return apiV1.listNamespace(null, null, null, null, null, null, null, null, null);
         } catch (ApiException e) {
@@ -312,6 +408,10 @@ public class KubeAPI {
     }
 
     public V1PodList getV1PodsList(String selectedNamespace, PageModel model) {
+        List<V1Pod> cached = kubeAPICache.list(V1Pod.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1PodList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listPodForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -327,6 +427,10 @@ public class KubeAPI {
     }
 
     public V1SecretList getV1SecretsList(String selectedNamespace, PageModel model) {
+        List<V1Secret> cached = kubeAPICache.list(V1Secret.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1SecretList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listSecretForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -342,6 +446,10 @@ public class KubeAPI {
     }
 
     public V1ServiceAccountList getV1ServiceAccountsList(String selectedNamespace, PageModel model) {
+        List<V1ServiceAccount> cached = kubeAPICache.list(V1ServiceAccount.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1ServiceAccountList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listServiceAccountForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -364,6 +472,10 @@ public class KubeAPI {
      * @return - list with found config maps.
      */
     public V1ConfigMapList getV1ConfigMapsList(String selectedNamespace, PageModel model) {
+        List<V1ConfigMap> cached = kubeAPICache.list(V1ConfigMap.class, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            return new V1ConfigMapList().items(cached);
+        }
         try {
             if ("all".equals(selectedNamespace)) {
                 return apiV1.listConfigMapForAllNamespaces(null, null, null, null, null, null, null, null, null);
@@ -378,4 +490,408 @@ public class KubeAPI {
         return new V1ConfigMapList();
     }
 
+    //  PAGED LISTS ================
+
+
+    /**
+     * Creates HTTP call for one page of objects.
+     */
+    @FunctionalInterface
+    private interface PageCallFactory {
+        Call create(String continueToken, Integer limit) throws ApiException;
+    }
+
+    /**
+     * Lists one page of objects. HTTP call is registered in cancellation handle of the model, so cancelled operation interrupts in-flight request.
+     *
+     * @param <L> - kubernetes list type.
+     */
+    private static class PageCall<L> {
+
+        //metadata only list with fallback to full objects on API servers without PartialObjectMetadataList support
+        private static final String PARTIAL_OBJECT_METADATA_LIST_ACCEPT = "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1,"
+                + "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1beta1,application/json";
+
+        private final ApiClient apiClient;
+        private final Class<L> apiListTypeClass;
+        private final PageCallFactory callFactory;
+        private final boolean metadataOnly;
+
+        private PageCall(ApiClient apiClient, Class<L> apiListTypeClass, PageCallFactory callFactory) {
+            this(apiClient, apiListTypeClass, callFactory, false);
+        }
+
+        private PageCall(ApiClient apiClient, Class<L> apiListTypeClass, PageCallFactory callFactory, boolean metadataOnly) {
+            this.apiClient = apiClient;
+            this.apiListTypeClass = apiListTypeClass;
+            this.callFactory = callFactory;
+            this.metadataOnly = metadataOnly;
+        }
+
+        /**
+         * Same page call, which asks API server for PartialObjectMetadataList. Items of the list are deserialized into regular list type with metadata only.
+         *
+         * @return - metadata only page call.
+         */
+        private PageCall<L> metadataOnly() {
+            return new PageCall<>(apiClient, apiListTypeClass, callFactory, true);
+        }
+
+        private L list(String continueToken, Integer limit, CancellationHandle cancellationHandle) throws ApiException {
+            Call call = callFactory.create(continueToken, limit);
+            if (metadataOnly) {
+                call = apiClient.getHttpClient().newCall(call.request().newBuilder().header("Accept", PARTIAL_OBJECT_METADATA_LIST_ACCEPT).build());
+            }
+            if (Objects.isNull(cancellationHandle)) {
+                return apiClient.<L>execute(call, apiListTypeClass).getData();
+            }
+            Runnable unregister = cancellationHandle.onCancel(call::cancel);
+            try {
+                return apiClient.<L>execute(call, apiListTypeClass).getData();
+            } finally {
+                unregister.run();
+            }
+        }
+    }
+
+    /**
+     * Iterates over objects of kind page by page with limit/continue, so only one page is kept in memory at a time.
+     * Serves objects from {@link KubeAPICache} if it is enabled and synced.
+     *
+     * @param methodName        - caller method name for error message.
+     * @param selectedNamespace - selected namespace. all - all namespaces. null for cluster scoped kinds.
+     * @param apiTypeClass      - kubernetes object class.
+     * @param pageSize          - max objects per page. 0 or less - without limit.
+     * @param model             - page model for exceptions.
+     * @param pageCall          - lists one page.
+     * @param consumer          - object consumer.
+     */
+    private <T, L extends KubernetesListObject> void forEachItem(String methodName, String selectedNamespace, Class<T> apiTypeClass, int pageSize, PageModel model,
+                                                                  PageCall<L> pageCall, Consumer<T> consumer) {
+        CancellationHandle cancellationHandle = model.getCancellationHandle();
+        List<T> cached = kubeAPICache.list(apiTypeClass, selectedNamespace);
+        if (Objects.nonNull(cached)) {
+            for (T item : cached) {
+                if (isCancelled(cancellationHandle)) {
+                    return;
+                }
+                consumer.accept(item);
+            }
+            return;
+        }
+        String continueToken = null;
+        try {
+            do {
+                if (isCancelled(cancellationHandle)) {
+                    return;
+                }
+                L page = pageCall.list(continueToken, pageSize > 0 ? pageSize : null, cancellationHandle);
+                for (Object item : page.getItems()) {
+                    if (isCancelled(cancellationHandle)) {
+                        return;
+                    }
+                    consumer.accept(apiTypeClass.cast(item));
+                }
+                continueToken = Objects.isNull(page.getMetadata()) ? null : page.getMetadata().getContinue();
+            } while (StringUtils.isNotEmpty(continueToken));
+        } catch (ApiException e) {
+            if (isCancelled(cancellationHandle)) {
+                logger.debug("{} is cancelled: namespace={}. Reason: {}", methodName, selectedNamespace, cancellationHandle.getCancelReason());
+                return;
+            }
+            String errorMessage = String.format("Error at %s: namespace=%s. Message: %s", methodName, selectedNamespace, e.getMessage());
+            model.addException(errorMessage, e);
+            logger.error(errorMessage, e);
+        }
+    }
+
+    private boolean isCancelled(CancellationHandle cancellationHandle) {
+        return Objects.nonNull(cancellationHandle) && cancellationHandle.isCancelled();
+    }
+
+    /**
+     * Gets one object by namespace and name. From {@link KubeAPICache} if it is enabled and synced, otherwise with list call by metadata.name field selector.
+     *
+     * @param apiTypeClass - kubernetes object class.
+     * @param namespace    - object namespace. null for cluster scoped kinds.
+     * @param name         - object name.
+     * @param model        - page model for exceptions.
+     * @param pageCall     - list call with metadata.name field selector.
+     * @return - found object or null.
+     */
+    private <T, L extends KubernetesListObject> T getItem(Class<T> apiTypeClass, String namespace, String name, PageModel model, PageCall<L> pageCall) {
+        T cached = kubeAPICache.get(apiTypeClass, namespace, name);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        try {
+            //single object lookup is not part of long running operation, cancellation handle of model can be left cancelled by finished search
+            L page = pageCall.list(null, null, null);
+            return page.getItems().isEmpty() ? null : apiTypeClass.cast(page.getItems().get(0));
+        } catch (ApiException e) {
+            String errorMessage = String.format("Error at getItem: kind=%s, namespace=%s, name=%s. Message: %s", apiTypeClass.getSimpleName(), namespace, name, e.getMessage());
+            model.addException(errorMessage, e);
+            logger.error(errorMessage, e);
+        }
+        return null;
+    }
+
+    /**
+     * Gets one object of resource type by namespace and name.
+     *
+     * @param resource  - kubernetes @{@link Resource}.
+     * @param namespace - object namespace. null for cluster scoped kinds.
+     * @param name      - object name.
+     * @param model     - page model for exceptions.
+     * @return - found object or null if not found or resource type is not supported.
+     */
+    public Object getObject(Resource resource, String namespace, String name, PageModel model) {
+        String fieldSelector = "metadata.name=" + name;
+        return switch (resource) {
+            case POD -> getItem(V1Pod.class, namespace, name, model, getPodPageCall(namespace, fieldSelector));
+            case CONFIG_MAP -> getItem(V1ConfigMap.class, namespace, name, model, getConfigMapPageCall(namespace, fieldSelector));
+            case SECRET -> getItem(V1Secret.class, namespace, name, model, getSecretPageCall(namespace, fieldSelector));
+            case SERVICE -> getItem(V1Service.class, namespace, name, model, getServicePageCall(namespace, fieldSelector));
+            case SERVICE_ACCOUNT -> getItem(V1ServiceAccount.class, namespace, name, model, getServiceAccountPageCall(namespace, fieldSelector));
+            case PERSISTENT_VOLUME_CLAIM -> getItem(V1PersistentVolumeClaim.class, namespace, name, model, getPersistentVolumeClaimPageCall(namespace, fieldSelector));
+            case PERSISTENT_VOLUME -> getItem(V1PersistentVolume.class, null, name, model, getPersistentVolumePageCall(fieldSelector));
+            case NAMESPACE -> getItem(V1Namespace.class, null, name, model, getNamespacePageCall(fieldSelector));
+            case DEPLOYMENT -> getItem(V1Deployment.class, namespace, name, model, getDeploymentPageCall(namespace, fieldSelector));
+            case DAEMON_SET -> getItem(V1DaemonSet.class, namespace, name, model, getDaemonSetPageCall(namespace, fieldSelector));
+            case REPLICA_SET -> getItem(V1ReplicaSet.class, namespace, name, model, getReplicaSetPageCall(namespace, fieldSelector));
+            case STATEFUL_SET -> getItem(V1StatefulSet.class, namespace, name, model, getStatefulSetPageCall(namespace, fieldSelector));
+            case JOB -> getItem(V1Job.class, namespace, name, model, getJobPageCall(namespace, fieldSelector));
+            case ROLE -> getItem(V1beta1Role.class, namespace, name, model, getRolePageCall(namespace, fieldSelector));
+            case ROLE_BINDING -> getItem(V1beta1RoleBinding.class, namespace, name, model, getRoleBindingPageCall(namespace, fieldSelector));
+            case CLUSTER_ROLE -> getItem(V1beta1ClusterRole.class, null, name, model, getClusterRolePageCall(fieldSelector));
+            case CLUSTER_ROLE_BINDING -> getItem(V1beta1ClusterRoleBinding.class, null, name, model, getClusterRoleBindingPageCall(fieldSelector));
+            case NETWORK_POLICY -> getItem(V1NetworkPolicy.class, namespace, name, model, getNetworkPolicyPageCall(namespace, fieldSelector));
+            case POD_DISRUPTION_BUDGET -> getItem(V1beta1PodDisruptionBudget.class, namespace, name, model, getPodDisruptionBudgetPageCall(namespace, fieldSelector));
+            case POD_SECURITY_POLICY -> getItem(V1beta1PodSecurityPolicy.class, null, name, model, getPodSecurityPolicyPageCall(fieldSelector));
+            default -> null;
+        };
+    }
+
+    /**
+     * Iterates over metadata of objects of kind. Objects are listed as PartialObjectMetadataList, so specs and data of objects are not transferred.
+     * Only kinds which are read by metadata alone are supported, kinds with selectors or other spec fields need full objects.
+     * Pods are supported for callers which need only their labels, e.g. label index for selectors.
+     *
+     * @param resource          - kind of objects. Pod, ConfigMap, Secret, ServiceAccount, Namespace, PersistentVolume, Roles, Bindings and PodSecurityPolicy.
+     * @param selectedNamespace - selected namespace. all - all namespaces. Ignored for cluster scoped kinds.
+     * @param pageSize          - max objects per page. 0 or less - without limit.
+     * @param model             - page model for exceptions.
+     * @param consumer          - object meta consumer.
+     */
+    public void forEachObjectMeta(Resource resource, String selectedNamespace, int pageSize, PageModel model, Consumer<V1ObjectMeta> consumer) {
+        switch (resource) {
+            case POD -> forEachObjectMeta(selectedNamespace, V1Pod.class, pageSize, model, getPodPageCall(selectedNamespace, null), consumer);
+            case CONFIG_MAP -> forEachObjectMeta(selectedNamespace, V1ConfigMap.class, pageSize, model, getConfigMapPageCall(selectedNamespace, null), consumer);
+            case SECRET -> forEachObjectMeta(selectedNamespace, V1Secret.class, pageSize, model, getSecretPageCall(selectedNamespace, null), consumer);
+            case SERVICE_ACCOUNT -> forEachObjectMeta(selectedNamespace, V1ServiceAccount.class, pageSize, model, getServiceAccountPageCall(selectedNamespace, null), consumer);
+            case NAMESPACE -> forEachObjectMeta(null, V1Namespace.class, pageSize, model, getNamespacePageCall(null), consumer);
+            case PERSISTENT_VOLUME -> forEachObjectMeta(null, V1PersistentVolume.class, pageSize, model, getPersistentVolumePageCall(null), consumer);
+            case ROLE -> forEachObjectMeta(selectedNamespace, V1beta1Role.class, pageSize, model, getRolePageCall(selectedNamespace, null), consumer);
+            case ROLE_BINDING -> forEachObjectMeta(selectedNamespace, V1beta1RoleBinding.class, pageSize, model, getRoleBindingPageCall(selectedNamespace, null), consumer);
+            case CLUSTER_ROLE -> forEachObjectMeta(null, V1beta1ClusterRole.class, pageSize, model, getClusterRolePageCall(null), consumer);
+            case CLUSTER_ROLE_BINDING -> forEachObjectMeta(null, V1beta1ClusterRoleBinding.class, pageSize, model, getClusterRoleBindingPageCall(null), consumer);
+            case POD_SECURITY_POLICY -> forEachObjectMeta(null, V1beta1PodSecurityPolicy.class, pageSize, model, getPodSecurityPolicyPageCall(null), consumer);
+            default -> throw new IllegalArgumentException(String.format("Metadata only listing is not supported for %s", resource.getKind()));
+        }
+    }
+
+    private <T extends KubernetesObject, L extends KubernetesListObject> void forEachObjectMeta(String selectedNamespace, Class<T> apiTypeClass, int pageSize, PageModel model,
+                                                                                                PageCall<L> pageCall, Consumer<V1ObjectMeta> consumer) {
+        forEachItem("forEachObjectMeta " + apiTypeClass.getSimpleName(), selectedNamespace, apiTypeClass, pageSize, model, pageCall.metadataOnly(), item -> consumer.accept(item.getMetadata()));
+    }
+
+    public void forEachPod(String selectedNamespace, int pageSize, PageModel model, Consumer<V1Pod> consumer) {
+        forEachItem("forEachPod", selectedNamespace, V1Pod.class, pageSize, model, getPodPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1PodList> getPodPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1PodList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listPodForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedPodCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachConfigMap(String selectedNamespace, int pageSize, PageModel model, Consumer<V1ConfigMap> consumer) {
+        forEachItem("forEachConfigMap", selectedNamespace, V1ConfigMap.class, pageSize, model, getConfigMapPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1ConfigMapList> getConfigMapPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1ConfigMapList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listConfigMapForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedConfigMapCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachSecret(String selectedNamespace, int pageSize, PageModel model, Consumer<V1Secret> consumer) {
+        forEachItem("forEachSecret", selectedNamespace, V1Secret.class, pageSize, model, getSecretPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1SecretList> getSecretPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1SecretList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listSecretForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedSecretCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachService(String selectedNamespace, int pageSize, PageModel model, Consumer<V1Service> consumer) {
+        forEachItem("forEachService", selectedNamespace, V1Service.class, pageSize, model, getServicePageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1ServiceList> getServicePageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1ServiceList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listServiceForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedServiceCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachServiceAccount(String selectedNamespace, int pageSize, PageModel model, Consumer<V1ServiceAccount> consumer) {
+        forEachItem("forEachServiceAccount", selectedNamespace, V1ServiceAccount.class, pageSize, model, getServiceAccountPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1ServiceAccountList> getServiceAccountPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1ServiceAccountList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listServiceAccountForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedServiceAccountCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachPersistentVolumeClaim(String selectedNamespace, int pageSize, PageModel model, Consumer<V1PersistentVolumeClaim> consumer) {
+        forEachItem("forEachPersistentVolumeClaim", selectedNamespace, V1PersistentVolumeClaim.class, pageSize, model, getPersistentVolumeClaimPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1PersistentVolumeClaimList> getPersistentVolumeClaimPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1PersistentVolumeClaimList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? apiV1.listPersistentVolumeClaimForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : apiV1.listNamespacedPersistentVolumeClaimCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachPersistentVolume(int pageSize, PageModel model, Consumer<V1PersistentVolume> consumer) {
+        forEachItem("forEachPersistentVolume", null, V1PersistentVolume.class, pageSize, model, getPersistentVolumePageCall(null), consumer);
+    }
+
+    private PageCall<V1PersistentVolumeList> getPersistentVolumePageCall(String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1PersistentVolumeList.class, (continueToken, limit) -> apiV1.listPersistentVolumeCall(null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachNamespace(int pageSize, PageModel model, Consumer<V1Namespace> consumer) {
+        forEachItem("forEachNamespace", null, V1Namespace.class, pageSize, model, getNamespacePageCall(null), consumer);
+    }
+
+    private PageCall<V1NamespaceList> getNamespacePageCall(String fieldSelector) {
+        return new PageCall<>(apiV1.getApiClient(), V1NamespaceList.class, (continueToken, limit) -> apiV1.listNamespaceCall(null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachDeployment(String selectedNamespace, int pageSize, PageModel model, Consumer<V1Deployment> consumer) {
+        forEachItem("forEachDeployment", selectedNamespace, V1Deployment.class, pageSize, model, getDeploymentPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1DeploymentList> getDeploymentPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(appsV1Api.getApiClient(), V1DeploymentList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? appsV1Api.listDeploymentForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : appsV1Api.listNamespacedDeploymentCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachDaemonSet(String selectedNamespace, int pageSize, PageModel model, Consumer<V1DaemonSet> consumer) {
+        forEachItem("forEachDaemonSet", selectedNamespace, V1DaemonSet.class, pageSize, model, getDaemonSetPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1DaemonSetList> getDaemonSetPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(appsV1Api.getApiClient(), V1DaemonSetList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? appsV1Api.listDaemonSetForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : appsV1Api.listNamespacedDaemonSetCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachReplicaSet(String selectedNamespace, int pageSize, PageModel model, Consumer<V1ReplicaSet> consumer) {
+        forEachItem("forEachReplicaSet", selectedNamespace, V1ReplicaSet.class, pageSize, model, getReplicaSetPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1ReplicaSetList> getReplicaSetPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(appsV1Api.getApiClient(), V1ReplicaSetList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? appsV1Api.listReplicaSetForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : appsV1Api.listNamespacedReplicaSetCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachStatefulSet(String selectedNamespace, int pageSize, PageModel model, Consumer<V1StatefulSet> consumer) {
+        forEachItem("forEachStatefulSet", selectedNamespace, V1StatefulSet.class, pageSize, model, getStatefulSetPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1StatefulSetList> getStatefulSetPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(appsV1Api.getApiClient(), V1StatefulSetList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? appsV1Api.listStatefulSetForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : appsV1Api.listNamespacedStatefulSetCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachJob(String selectedNamespace, int pageSize, PageModel model, Consumer<V1Job> consumer) {
+        forEachItem("forEachJob", selectedNamespace, V1Job.class, pageSize, model, getJobPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1JobList> getJobPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(batchV1Api.getApiClient(), V1JobList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? batchV1Api.listJobForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : batchV1Api.listNamespacedJobCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachRole(String selectedNamespace, int pageSize, PageModel model, Consumer<V1beta1Role> consumer) {
+        forEachItem("forEachRole", selectedNamespace, V1beta1Role.class, pageSize, model, getRolePageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1beta1RoleList> getRolePageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(rbacAuthorizationV1beta1Api.getApiClient(), V1beta1RoleList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? rbacAuthorizationV1beta1Api.listRoleForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : rbacAuthorizationV1beta1Api.listNamespacedRoleCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachRoleBinding(String selectedNamespace, int pageSize, PageModel model, Consumer<V1beta1RoleBinding> consumer) {
+        forEachItem("forEachRoleBinding", selectedNamespace, V1beta1RoleBinding.class, pageSize, model, getRoleBindingPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1beta1RoleBindingList> getRoleBindingPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(rbacAuthorizationV1beta1Api.getApiClient(), V1beta1RoleBindingList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? rbacAuthorizationV1beta1Api.listRoleBindingForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : rbacAuthorizationV1beta1Api.listNamespacedRoleBindingCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachClusterRole(int pageSize, PageModel model, Consumer<V1beta1ClusterRole> consumer) {
+        forEachItem("forEachClusterRole", null, V1beta1ClusterRole.class, pageSize, model, getClusterRolePageCall(null), consumer);
+    }
+
+    private PageCall<V1beta1ClusterRoleList> getClusterRolePageCall(String fieldSelector) {
+        return new PageCall<>(rbacAuthorizationV1beta1Api.getApiClient(), V1beta1ClusterRoleList.class, (continueToken, limit) -> rbacAuthorizationV1beta1Api.listClusterRoleCall(null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachClusterRoleBinding(int pageSize, PageModel model, Consumer<V1beta1ClusterRoleBinding> consumer) {
+        forEachItem("forEachClusterRoleBinding", null, V1beta1ClusterRoleBinding.class, pageSize, model, getClusterRoleBindingPageCall(null), consumer);
+    }
+
+    private PageCall<V1beta1ClusterRoleBindingList> getClusterRoleBindingPageCall(String fieldSelector) {
+        return new PageCall<>(rbacAuthorizationV1beta1Api.getApiClient(), V1beta1ClusterRoleBindingList.class, (continueToken, limit) -> rbacAuthorizationV1beta1Api.listClusterRoleBindingCall(null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachNetworkPolicy(String selectedNamespace, int pageSize, PageModel model, Consumer<V1NetworkPolicy> consumer) {
+        forEachItem("forEachNetworkPolicy", selectedNamespace, V1NetworkPolicy.class, pageSize, model, getNetworkPolicyPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1NetworkPolicyList> getNetworkPolicyPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(networkingApi.getApiClient(), V1NetworkPolicyList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? networkingApi.listNetworkPolicyForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : networkingApi.listNamespacedNetworkPolicyCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachPodDisruptionBudget(String selectedNamespace, int pageSize, PageModel model, Consumer<V1beta1PodDisruptionBudget> consumer) {
+        forEachItem("forEachPodDisruptionBudget", selectedNamespace, V1beta1PodDisruptionBudget.class, pageSize, model, getPodDisruptionBudgetPageCall(selectedNamespace, null), consumer);
+    }
+
+    private PageCall<V1beta1PodDisruptionBudgetList> getPodDisruptionBudgetPageCall(String selectedNamespace, String fieldSelector) {
+        return new PageCall<>(policyV1beta1Api.getApiClient(), V1beta1PodDisruptionBudgetList.class, (continueToken, limit) -> "all".equals(selectedNamespace)
+                ? policyV1beta1Api.listPodDisruptionBudgetForAllNamespacesCall(null, continueToken, fieldSelector, null, limit, null, null, null, null, null)
+                : policyV1beta1Api.listNamespacedPodDisruptionBudgetCall(selectedNamespace, null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
+
+    public void forEachPodSecurityPolicy(int pageSize, PageModel model, Consumer<V1beta1PodSecurityPolicy> consumer) {
+        forEachItem("forEachPodSecurityPolicy", null, V1beta1PodSecurityPolicy.class, pageSize, model, getPodSecurityPolicyPageCall(null), consumer);
+    }
+
+    private PageCall<V1beta1PodSecurityPolicyList> getPodSecurityPolicyPageCall(String fieldSelector) {
+        return new PageCall<>(policyV1beta1Api.getApiClient(), V1beta1PodSecurityPolicyList.class, (continueToken, limit) -> policyV1beta1Api.listPodSecurityPolicyCall(null, null, continueToken, fieldSelector, null, limit, null, null, null, null));
+    }
 }
@@ -0,0 +1,249 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common;
+
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Caches;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.NetworkingV1Api;
+import io.kubernetes.client.openapi.apis.PolicyV1beta1Api;
+import io.kubernetes.client.openapi.apis.RbacAuthorizationV1beta1Api;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1DaemonSet;
+import io.kubernetes.client.openapi.models.V1DaemonSetList;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobList;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1NamespaceList;
+import io.kubernetes.client.openapi.models.V1NetworkPolicy;
+import io.kubernetes.client.openapi.models.V1NetworkPolicyList;
+import io.kubernetes.client.openapi.models.V1PersistentVolume;
+import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
+import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
+import io.kubernetes.client.openapi.models.V1PersistentVolumeList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1ReplicaSet;
+import io.kubernetes.client.openapi.models.V1ReplicaSetList;
+import io.kubernetes.client.openapi.models.V1Secret;
+import io.kubernetes.client.openapi.models.V1SecretList;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceAccount;
+import io.kubernetes.client.openapi.models.V1ServiceAccountList;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.openapi.models.V1StatefulSet;
+import io.kubernetes.client.openapi.models.V1StatefulSetList;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBindingList;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRoleList;
+import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudget;
+import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudgetList;
+import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicy;
+import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicyList;
+import io.kubernetes.client.openapi.models.V1beta1Role;
+import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
+import io.kubernetes.client.openapi.models.V1beta1RoleBindingList;
+import io.kubernetes.client.openapi.models.V1beta1RoleList;
+import io.kubernetes.client.util.CallGenerator;
+import io.kubernetes.client.util.Config;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in informer based cache for {@link KubeAPI}.
+ * <p>
+ * When enabled, one shared informer per resource kind keeps a watch-updated and namespace indexed store,
+ * so lists are served from memory instead of a full LIST call to the API server on every user action.
+ *
+ * @author JDev
+ */
+@Service
+public class KubeAPICache {
+
+    private static Logger logger = LoggerFactory.getLogger(KubeAPICache.class);
+
+    @Value("${kubehelper.kube.api.cache.enabled}")
+    private boolean enabled;
+
+    @Value("${kubehelper.kube.api.cache.resync.period.millis}")
+    private long resyncPeriodMillis;
+
+    @Autowired
+    private ApiClient sharedApiClient;
+
+    private SharedInformerFactory informerFactory;
+
+    private Map<Class<?>, SharedIndexInformer<?>> informers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void postConstruct() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ApiClient apiClient = Config.defaultClient();
+            //watches are long running requests, so informers should never hit read timeout. Connection pool and dispatcher are shared with main API client.
+            apiClient.setHttpClient(sharedApiClient.getHttpClient().newBuilder().readTimeout(0, TimeUnit.SECONDS).build());
+            informerFactory = new SharedInformerFactory(apiClient);
+            registerInformers(apiClient);
+            informerFactory.startAllRegisteredInformers();
+            logger.info("Kube API cache is enabled. Started {} informers.", informers.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Cannot start Kube API cache, lists will be fetched from API server. Message: " + e.getMessage(), e);
+            informers.clear();
+        }
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        if (Objects.nonNull(informerFactory)) {
+            informerFactory.stopAllRegisteredInformers();
+        }
+    }
+
+    /**
+     * Registers informers for all kinds available through {@link KubeAPI}.
+     *
+     * @param apiClient - api client without read timeout.
+     */
+    private void registerInformers(ApiClient apiClient) {
+        CoreV1Api coreV1Api = new CoreV1Api(apiClient);
+        AppsV1Api appsV1Api = new AppsV1Api(apiClient);
+        BatchV1Api batchV1Api = new BatchV1Api(apiClient);
+        RbacAuthorizationV1beta1Api rbacApi = new RbacAuthorizationV1beta1Api(apiClient);
+        NetworkingV1Api networkingApi = new NetworkingV1Api(apiClient);
+        PolicyV1beta1Api policyApi = new PolicyV1beta1Api(apiClient);
+
+        registerInformer(V1Pod.class, V1PodList.class, params -> coreV1Api.listPodForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1ConfigMap.class, V1ConfigMapList.class, params -> coreV1Api.listConfigMapForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1Secret.class, V1SecretList.class, params -> coreV1Api.listSecretForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1Service.class, V1ServiceList.class, params -> coreV1Api.listServiceForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1ServiceAccount.class, V1ServiceAccountList.class, params -> coreV1Api.listServiceAccountForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1PersistentVolumeClaim.class, V1PersistentVolumeClaimList.class, params -> coreV1Api.listPersistentVolumeClaimForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1PersistentVolume.class, V1PersistentVolumeList.class, params -> coreV1Api.listPersistentVolumeCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1Namespace.class, V1NamespaceList.class, params -> coreV1Api.listNamespaceCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1Deployment.class, V1DeploymentList.class, params -> appsV1Api.listDeploymentForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1DaemonSet.class, V1DaemonSetList.class, params -> appsV1Api.listDaemonSetForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1ReplicaSet.class, V1ReplicaSetList.class, params -> appsV1Api.listReplicaSetForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1StatefulSet.class, V1StatefulSetList.class, params -> appsV1Api.listStatefulSetForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1Job.class, V1JobList.class, params -> batchV1Api.listJobForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1Role.class, V1beta1RoleList.class, params -> rbacApi.listRoleForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1RoleBinding.class, V1beta1RoleBindingList.class, params -> rbacApi.listRoleBindingForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1ClusterRole.class, V1beta1ClusterRoleList.class, params -> rbacApi.listClusterRoleCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1ClusterRoleBinding.class, V1beta1ClusterRoleBindingList.class, params -> rbacApi.listClusterRoleBindingCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1NetworkPolicy.class, V1NetworkPolicyList.class, params -> networkingApi.listNetworkPolicyForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1PodDisruptionBudget.class, V1beta1PodDisruptionBudgetList.class, params -> policyApi.listPodDisruptionBudgetForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+        registerInformer(V1beta1PodSecurityPolicy.class, V1beta1PodSecurityPolicyList.class, params -> policyApi.listPodSecurityPolicyCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null));
+    }
+
+    private <T extends KubernetesObject, L extends KubernetesListObject> void registerInformer(Class<T> apiTypeClass, Class<L> apiListTypeClass, CallGenerator callGenerator) {
+        informers.put(apiTypeClass, informerFactory.sharedIndexInformerFor(callGenerator, apiTypeClass, apiListTypeClass, resyncPeriodMillis));
+    }
+
+    /**
+     * Returns cached objects of kind depends on namespace.
+     *
+     * @param apiTypeClass      - kubernetes object class. e.g. {@link V1Pod}.
+     * @param selectedNamespace - selected namespace. all - all namespaces. Ignored for cluster scoped kinds.
+     * @return - list with cached objects or null if cache is disabled or not synced yet, in such case caller should ask API server.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> list(Class<T> apiTypeClass, String selectedNamespace) {
+        SharedIndexInformer<T> informer = (SharedIndexInformer<T>) informers.get(apiTypeClass);
+        if (Objects.isNull(informer) || !informer.hasSynced()) {
+            return null;
+        }
+        if (Objects.isNull(selectedNamespace) || "all".equals(selectedNamespace)) {
+            return informer.getIndexer().list();
+        }
+        return informer.getIndexer().byIndex(Caches.NAMESPACE_INDEX, selectedNamespace);
+    }
+
+    /**
+     * Returns cached object by namespace and name.
+     *
+     * @param apiTypeClass - kubernetes object class. e.g. {@link V1Pod}.
+     * @param namespace    - object namespace. null for cluster scoped kinds.
+     * @param name         - object name.
+     * @return - cached object or null if it is not cached or cache is disabled or not synced yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<T> apiTypeClass, String namespace, String name) {
+        SharedIndexInformer<T> informer = (SharedIndexInformer<T>) informers.get(apiTypeClass);
+        if (Objects.isNull(informer) || !informer.hasSynced()) {
+            return null;
+        }
+        return informer.getIndexer().getByKey(StringUtils.isEmpty(namespace) ? name : namespace + "/" + name);
+    }
+
+    /**
+     * Adds handler of informer events. Handler added after informer start receives add events for already cached objects.
+     *
+     * @param apiTypeClass - kubernetes object class. e.g. {@link V1Pod}.
+     * @param handler      - informer events handler.
+     * @return - true if handler was added, false if cache is disabled or kind is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> boolean addEventHandler(Class<T> apiTypeClass, ResourceEventHandler<T> handler) {
+        SharedIndexInformer<T> informer = (SharedIndexInformer<T>) informers.get(apiTypeClass);
+        if (Objects.isNull(informer)) {
+            return false;
+        }
+        informer.addEventHandler(handler);
+        return true;
+    }
+
+    /**
+     * Returns count of cached objects of kind.
+     *
+     * @param apiTypeClass - kubernetes object class. e.g. {@link V1Pod}.
+     * @return - count of cached objects or -1 if cache is disabled or not synced yet.
+     */
+    public int size(Class<?> apiTypeClass) {
+        List<?> cached = list(apiTypeClass, "all");
+        return Objects.isNull(cached) ? -1 : cached.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled && !informers.isEmpty();
+    }
+}
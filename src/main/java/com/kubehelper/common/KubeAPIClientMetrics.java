@@ -0,0 +1,72 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common;
+
+import io.kubernetes.client.openapi.ApiClient;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Connection pool and dispatcher usage of shared kubernetes {@link ApiClient}.
+ *
+ * @author JDev
+ */
+@Service
+public class KubeAPIClientMetrics {
+
+    private static Logger logger = LoggerFactory.getLogger(KubeAPIClientMetrics.class);
+
+    @Autowired
+    private ApiClient apiClient;
+
+    @Autowired
+    private ThreadPoolTaskScheduler threadPoolTaskScheduler;
+
+    @Value("${kubehelper.kube.api.client.metrics.log.period.seconds}")
+    private long metricsLogPeriodSeconds;
+
+    @PostConstruct
+    private void postConstruct() {
+        if (metricsLogPeriodSeconds > 0) {
+            threadPoolTaskScheduler.scheduleAtFixedRate(() -> logger.info(getMetrics()), Duration.ofSeconds(metricsLogPeriodSeconds));
+        }
+    }
+
+    /**
+     * Returns current usage of connection pool and dispatcher.
+     *
+     * @return - metrics text.
+     */
+    public String getMetrics() {
+        OkHttpClient httpClient = apiClient.getHttpClient();
+        ConnectionPool connectionPool = httpClient.connectionPool();
+        Dispatcher dispatcher = httpClient.dispatcher();
+        return String.format("Kube API client: connections=%d, idle connections=%d, running async calls=%d, queued async calls=%d, protocols=%s.",
+                connectionPool.connectionCount(), connectionPool.idleConnectionCount(), dispatcher.runningCallsCount(), dispatcher.queuedCallsCount(), httpClient.protocols());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static com.kubehelper.common.matchers.SearchMatcher.foldCase;
+
+/**
+ * Case insensitive substring matcher based on Boyer-Moore-Horspool algorithm.
+ * Search string is case folded once at compile time, so searched texts are scanned without creating lowercase copies.
+ *
+ * @author JDev
+ */
+public class LiteralMatcher implements SearchMatcher {
+
+    private static final int SHIFT_TABLE_SIZE = 256;
+
+    private final char[] pattern;
+    private final int[] shifts = new int[SHIFT_TABLE_SIZE];
+
+    public LiteralMatcher(String searchString) {
+        pattern = new char[searchString.length()];
+        for (int i = 0; i < pattern.length; i++) {
+            pattern[i] = foldCase(searchString.charAt(i));
+        }
+        // Characters with the same low byte share a slot, the smallest shift wins, so skipping stays safe.
+        Arrays.fill(shifts, Math.max(pattern.length, 1));
+        for (int i = 0; i < pattern.length - 1; i++) {
+            shifts[pattern[i] & 0xFF] = pattern.length - 1 - i;
+        }
+    }
+
+    @Override
+    public boolean matches(String text) {
+        if (text == null) {
+            return false;
+        }
+        int last = pattern.length - 1;
+        for (int i = 0; i <= text.length() - pattern.length; ) {
+            int j = last;
+            while (j >= 0 && foldCase(text.charAt(i + j)) == pattern[j]) {
+                j--;
+            }
+            if (j < 0) {
+                return true;
+            }
+            i += shifts[foldCase(text.charAt(i + last)) & 0xFF];
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", LiteralMatcher.class.getSimpleName() + "[", "]")
+                .add("pattern='" + new String(pattern) + "'")
+                .toString();
+    }
+}
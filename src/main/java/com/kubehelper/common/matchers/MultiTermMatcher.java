@@ -0,0 +1,150 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import static com.kubehelper.common.matchers.SearchMatcher.foldCase;
+
+/**
+ * Case insensitive matcher of several terms based on Aho-Corasick automaton. Matches if any of terms is found in text, text is scanned once for all terms.
+ *
+ * @author JDev
+ */
+public class MultiTermMatcher implements SearchMatcher {
+
+    private final String[] terms;
+    private final char[][] transitionChars;
+    private final int[][] transitionStates;
+    private final int[] failures;
+    private final boolean[] terminals;
+
+    /**
+     * Builds automaton. Without terms matcher matches any not null text, the same as empty literal.
+     *
+     * @param terms - searched terms.
+     */
+    public MultiTermMatcher(String... terms) {
+        this.terms = terms;
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> trieTerminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieTerminals.add(terms.length == 0);
+        for (String term : terms) {
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                char c = foldCase(term.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    trieTerminals.add(false);
+                }
+                state = next;
+            }
+            trieTerminals.set(state, true);
+        }
+
+        int size = trie.size();
+        transitionChars = new char[size][];
+        transitionStates = new int[size][];
+        failures = new int[size];
+        terminals = new boolean[size];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionStates[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionStates[state][i++] = transition.getValue();
+            }
+            terminals[state] = trieTerminals.get(state);
+        }
+
+        // Breadth first traversal, failure of each state is already known when its children are processed.
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionStates[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                int child = transitionStates[state][i];
+                int failure = failures[state];
+                while (failure != 0 && next(failure, transitionChars[state][i]) < 0) {
+                    failure = failures[failure];
+                }
+                int failureChild = next(failure, transitionChars[state][i]);
+                failures[child] = failureChild < 0 || failureChild == child ? 0 : failureChild;
+                terminals[child] |= terminals[failures[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(String text) {
+        if (text == null) {
+            return false;
+        }
+        if (terminals[0]) {
+            return true;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = foldCase(text.charAt(i));
+            int next;
+            while ((next = next(state, c)) < 0 && state != 0) {
+                state = failures[state];
+            }
+            state = Math.max(next, 0);
+            if (terminals[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns transition of state by character.
+     *
+     * @param state - automaton state.
+     * @param c     - case folded character.
+     * @return - next state or -1 if there is no transition.
+     */
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(transitionChars[state], c);
+        return i < 0 ? -1 : transitionStates[state][i];
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", MultiTermMatcher.class.getSimpleName() + "[", "]")
+                .add("terms=" + Arrays.toString(terms))
+                .toString();
+    }
+}
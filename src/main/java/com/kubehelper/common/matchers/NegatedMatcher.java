@@ -0,0 +1,51 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import java.util.StringJoiner;
+
+/**
+ * Inverts wrapped matcher. Object matches only if none of its texts matches wrapped matcher.
+ *
+ * @author JDev
+ */
+public class NegatedMatcher implements SearchMatcher {
+
+    private final SearchMatcher matcher;
+
+    public NegatedMatcher(SearchMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    @Override
+    public boolean matches(String text) {
+        return !matcher.matches(text);
+    }
+
+    @Override
+    public boolean matchesAny(String... texts) {
+        return !matcher.matchesAny(texts);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", NegatedMatcher.class.getSimpleName() + "[", "]")
+                .add("matcher=" + matcher)
+                .toString();
+    }
+}
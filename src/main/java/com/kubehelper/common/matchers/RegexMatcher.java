@@ -0,0 +1,47 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Case insensitive regular expression matcher. Matches if expression is found anywhere in text.
+ *
+ * @author JDev
+ */
+public class RegexMatcher implements SearchMatcher {
+
+    private final Pattern pattern;
+
+    public RegexMatcher(String regex) {
+        pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    @Override
+    public boolean matches(String text) {
+        return text != null && pattern.matcher(text).find();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RegexMatcher.class.getSimpleName() + "[", "]")
+                .add("pattern='" + pattern.pattern() + "'")
+                .toString();
+    }
+}
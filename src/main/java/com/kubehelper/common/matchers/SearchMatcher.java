@@ -0,0 +1,82 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * Compiled search string. Matcher is compiled once per search and shared between search threads, so implementations must be immutable.
+ *
+ * @author JDev
+ */
+public interface SearchMatcher {
+
+    /**
+     * Checks if text matches search string.
+     *
+     * @param text - searched text, can be null.
+     * @return - true if text matches.
+     */
+    boolean matches(String text);
+
+    /**
+     * Checks if any of texts matches search string.
+     *
+     * @param texts - searched texts.
+     * @return - true if at least one text matches.
+     */
+    default boolean matchesAny(String... texts) {
+        for (String text : texts) {
+            if (matches(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles search string to matcher.
+     *
+     * @param mode         - search mode.
+     * @param searchString - search string.
+     * @param negate       - if true matcher matches objects which don't contain search string.
+     * @return - compiled matcher.
+     * @throws IllegalArgumentException - if search string is not a valid regular expression in {@link SearchMode#REGEX} mode.
+     */
+    static SearchMatcher compile(SearchMode mode, String searchString, boolean negate) {
+        String pattern = StringUtils.defaultString(searchString);
+        SearchMatcher matcher = switch (mode) {
+            case LITERAL -> new LiteralMatcher(pattern);
+            case MULTI_TERM -> new MultiTermMatcher(Arrays.stream(pattern.split("\\|")).filter(StringUtils::isNotEmpty).toArray(String[]::new));
+            case REGEX -> new RegexMatcher(pattern);
+        };
+        return negate ? new NegatedMatcher(matcher) : matcher;
+    }
+
+    /**
+     * Folds character case the same way as {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param c - character.
+     * @return - case folded character.
+     */
+    static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
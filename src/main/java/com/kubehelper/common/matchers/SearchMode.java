@@ -0,0 +1,48 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.common.matchers;
+
+import java.util.StringJoiner;
+
+/**
+ * Search string interpretation modes.
+ *
+ * @author JDev
+ */
+public enum SearchMode {
+    LITERAL("Text"),
+    MULTI_TERM("Any of terms: a|b|c"),
+    REGEX("Regular expression");
+
+    private final String label;
+
+    SearchMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SearchMode.class.getSimpleName() + "[", "]")
+                .add("label='" + label + "'")
+                .toString();
+    }
+}
@@ -17,7 +17,11 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.configs;
 
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kubernetes.client.Exec;
+import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
 import io.kubernetes.client.openapi.apis.BatchV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
@@ -26,17 +30,24 @@ import io.kubernetes.client.openapi.apis.NetworkingV1Api;
 import io.kubernetes.client.openapi.apis.PolicyV1beta1Api;
 import io.kubernetes.client.openapi.apis.RbacAuthorizationV1beta1Api;
 import io.kubernetes.client.util.Config;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static com.kubehelper.common.Global.CONFIGS_CACHE;
 
@@ -48,44 +59,91 @@ import static com.kubehelper.common.Global.CONFIGS_CACHE;
 @Configuration
 public class CustomConfig {
 
+    /**
+     * Single API client shared by all kubernetes API beans and exec, so they share one connection pool and TLS sessions.
+     * Dispatcher limits apply to asynchronous calls only, synchronous calls are limited by callers executors.
+     */
     @Bean
-    public CoreV1Api getCoreV1Api() throws IOException {
-        return new CoreV1Api(Config.defaultClient());
+    public ApiClient apiClient(@Value("${kubehelper.kube.api.client.connection.pool.max.idle}") int maxIdleConnections,
+                               @Value("${kubehelper.kube.api.client.connection.pool.keep.alive.seconds}") long keepAliveSeconds,
+                               @Value("${kubehelper.kube.api.client.dispatcher.max.requests}") int maxRequests,
+                               @Value("${kubehelper.kube.api.client.dispatcher.max.requests.per.host}") int maxRequestsPerHost,
+                               @Value("${kubehelper.kube.api.client.http2.enabled}") boolean http2Enabled,
+                               @Value("${kubehelper.kube.api.client.connect.timeout.seconds}") long connectTimeoutSeconds,
+                               @Value("${kubehelper.kube.api.client.read.timeout.seconds}") long readTimeoutSeconds,
+                               @Value("${kubehelper.kube.api.client.write.timeout.seconds}") long writeTimeoutSeconds) throws IOException {
+        ApiClient apiClient = Config.defaultClient();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        //HTTP/2 is negotiated with ALPN only if API server supports it, exec websockets always use HTTP/1.1
+        List<Protocol> protocols = http2Enabled ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1);
+        apiClient.setHttpClient(apiClient.getHttpClient().newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(protocols)
+                .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(writeTimeoutSeconds, TimeUnit.SECONDS)
+                .build());
+        return apiClient;
+    }
+
+    /**
+     * Single fabric8 client shared by all services. Kubeconfig parsing, TLS setup and client thread pools are created once, client is closed on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public KubernetesClient kubernetesClient(@Value("${kubehelper.fabric8.client.max.concurrent.requests}") int maxConcurrentRequests,
+                                             @Value("${kubehelper.fabric8.client.max.concurrent.requests.per.host}") int maxConcurrentRequestsPerHost,
+                                             @Value("${kubehelper.fabric8.client.connection.timeout.millis}") int connectionTimeoutMillis,
+                                             @Value("${kubehelper.fabric8.client.request.timeout.millis}") int requestTimeoutMillis) {
+        io.fabric8.kubernetes.client.Config config = new ConfigBuilder(io.fabric8.kubernetes.client.Config.autoConfigure(null))
+                .withMaxConcurrentRequests(maxConcurrentRequests)
+                .withMaxConcurrentRequestsPerHost(maxConcurrentRequestsPerHost)
+                .withConnectionTimeout(connectionTimeoutMillis)
+                .withRequestTimeout(requestTimeoutMillis)
+                .build();
+        return new DefaultKubernetesClient(config);
+    }
+
+    @Bean
+    public CoreV1Api getCoreV1Api(ApiClient apiClient) {
+        return new CoreV1Api(apiClient);
     }
 
     @Bean
-    public AppsV1Api getAppsV1Api() throws IOException {
-        return new AppsV1Api(Config.defaultClient());
+    public AppsV1Api getAppsV1Api(ApiClient apiClient) {
+        return new AppsV1Api(apiClient);
     }
 
     @Bean
-    public BatchV1Api getBatchV1Api() throws IOException {
-        return new BatchV1Api(Config.defaultClient());
+    public BatchV1Api getBatchV1Api(ApiClient apiClient) {
+        return new BatchV1Api(apiClient);
     }
 
     @Bean
-    public ExtensionsV1beta1Api getExtensionsV1beta1Api() throws IOException {
-        return new ExtensionsV1beta1Api(Config.defaultClient());
+    public ExtensionsV1beta1Api getExtensionsV1beta1Api(ApiClient apiClient) {
+        return new ExtensionsV1beta1Api(apiClient);
     }
 
     @Bean
-    public RbacAuthorizationV1beta1Api getRbacAuthorizationV1beta1Api() throws IOException {
-        return new RbacAuthorizationV1beta1Api(Config.defaultClient());
+    public RbacAuthorizationV1beta1Api getRbacAuthorizationV1beta1Api(ApiClient apiClient) {
+        return new RbacAuthorizationV1beta1Api(apiClient);
     }
 
     @Bean
-    public NetworkingV1Api getNetworkingV1Api() throws IOException {
-        return new NetworkingV1Api(Config.defaultClient());
+    public NetworkingV1Api getNetworkingV1Api(ApiClient apiClient) {
+        return new NetworkingV1Api(apiClient);
     }
 
     @Bean
-    public PolicyV1beta1Api getPolicyV1beta1Api() throws IOException {
-        return new PolicyV1beta1Api(Config.defaultClient());
+    public PolicyV1beta1Api getPolicyV1beta1Api(ApiClient apiClient) {
+        return new PolicyV1beta1Api(apiClient);
     }
 
     @Bean
-    public Exec getExec() throws IOException {
-        return new Exec(Config.defaultClient());
+    public Exec getExec(ApiClient apiClient) {
+        return new Exec(apiClient);
     }
 
     @Bean
@@ -100,6 +158,58 @@ public class CustomConfig {
         return threadPoolTaskScheduler;
     }
 
+    /**
+     * Scheduler for short timers, which must fire on time: exec watchdogs, deadlines and periodic flushes.
+     * Kept apart from {@link #threadPoolTaskScheduler()}, because cron jobs block its thread while their commands run.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler watchdogTaskScheduler(@Value("${kubehelper.watchdog.scheduler.pool.size}") int poolSize) {
+        ThreadPoolTaskScheduler watchdogTaskScheduler = new ThreadPoolTaskScheduler();
+        watchdogTaskScheduler.setPoolSize(poolSize);
+        watchdogTaskScheduler.setRemoveOnCancelPolicy(true);
+        watchdogTaskScheduler.setThreadNamePrefix("kubeHelperWatchdog-");
+        return watchdogTaskScheduler;
+    }
+
+    /**
+     * Executor for parallel searches of resource types. Pool size limits concurrent list calls to API server.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchTaskExecutor(@Value("${kubehelper.search.parallelism}") int parallelism) {
+        ThreadPoolTaskExecutor searchTaskExecutor = new ThreadPoolTaskExecutor();
+        searchTaskExecutor.setCorePoolSize(parallelism);
+        searchTaskExecutor.setMaxPoolSize(parallelism);
+        searchTaskExecutor.setAllowCoreThreadTimeOut(true);
+        searchTaskExecutor.setThreadNamePrefix("kubeHelperSearch-");
+        return searchTaskExecutor;
+    }
+
+    /**
+     * Executor for exec sessions which collect native environment variables of pods during search.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor nativeEnvVarsTaskExecutor(@Value("${kubehelper.search.native.env.vars.parallelism}") int parallelism) {
+        ThreadPoolTaskExecutor nativeEnvVarsTaskExecutor = new ThreadPoolTaskExecutor();
+        nativeEnvVarsTaskExecutor.setCorePoolSize(parallelism);
+        nativeEnvVarsTaskExecutor.setMaxPoolSize(parallelism);
+        nativeEnvVarsTaskExecutor.setAllowCoreThreadTimeOut(true);
+        nativeEnvVarsTaskExecutor.setThreadNamePrefix("kubeHelperEnvExec-");
+        return nativeEnvVarsTaskExecutor;
+    }
+
+    /**
+     * Executor for commands started from Commands page with live output. Pool size limits concurrently running commands.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor commandTaskExecutor(@Value("${kubehelper.commands.execution.parallelism}") int parallelism) {
+        ThreadPoolTaskExecutor commandTaskExecutor = new ThreadPoolTaskExecutor();
+        commandTaskExecutor.setCorePoolSize(parallelism);
+        commandTaskExecutor.setMaxPoolSize(parallelism);
+        commandTaskExecutor.setAllowCoreThreadTimeOut(true);
+        commandTaskExecutor.setThreadNamePrefix("kubeHelperCommand-");
+        return commandTaskExecutor;
+    }
+
     @Bean
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
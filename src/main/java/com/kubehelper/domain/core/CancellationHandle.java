@@ -0,0 +1,100 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Cancellation state of long running operation, e.g. search. Shared by all threads of the operation.
+ * <p>
+ * Workers check {@link #isCancelled()} between steps and register cancel actions for blocking work (in-flight HTTP calls, exec processes),
+ * which are run as soon as operation is cancelled by user or its deadline is reached.
+ *
+ * @author JDev
+ */
+public class CancellationHandle {
+
+    private final Set<Runnable> cancelActions = ConcurrentHashMap.newKeySet();
+    private volatile String cancelReason;
+    private volatile ScheduledFuture<?> deadlineTask;
+
+    /**
+     * Cancels operation and runs all registered cancel actions. Only first reason is kept.
+     *
+     * @param reason - cancellation reason shown to user.
+     */
+    public void cancel(String reason) {
+        synchronized (this) {
+            if (Objects.nonNull(cancelReason)) {
+                return;
+            }
+            cancelReason = reason;
+        }
+        cancelActions.forEach(Runnable::run);
+        cancelActions.clear();
+    }
+
+    /**
+     * Registers action to interrupt blocking work. Action is run immediately if operation is already cancelled.
+     *
+     * @param action - cancel action.
+     * @return - action which unregisters cancel action, should be called when blocking work is finished.
+     */
+    public Runnable onCancel(Runnable action) {
+        cancelActions.add(action);
+        if (isCancelled() && cancelActions.remove(action)) {
+            action.run();
+        }
+        return () -> cancelActions.remove(action);
+    }
+
+    /**
+     * Releases deadline timer and cancel actions when operation is finished.
+     */
+    public void release() {
+        if (Objects.nonNull(deadlineTask)) {
+            deadlineTask.cancel(false);
+        }
+        cancelActions.clear();
+    }
+
+    public boolean isCancelled() {
+        return Objects.nonNull(cancelReason);
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    public CancellationHandle setDeadlineTask(ScheduledFuture<?> deadlineTask) {
+        this.deadlineTask = deadlineTask;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CancellationHandle.class.getSimpleName() + "[", "]")
+                .add("cancelReason='" + cancelReason + "'")
+                .add("cancelActions=" + cancelActions.size())
+                .toString();
+    }
+}
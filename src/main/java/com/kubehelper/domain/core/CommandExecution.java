@@ -0,0 +1,94 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.StringJoiner;
+
+/**
+ * Result of shell command execution.
+ *
+ * @author JDev
+ */
+public class CommandExecution {
+
+    private final String output;
+    private final int exitCode;
+    private final boolean timedOut;
+    private final boolean cancelled;
+    private final boolean truncated;
+    private final long durationMillis;
+
+    public CommandExecution(String output, int exitCode, boolean timedOut, boolean cancelled, boolean truncated, long durationMillis) {
+        this.output = output;
+        this.exitCode = exitCode;
+        this.timedOut = timedOut;
+        this.cancelled = cancelled;
+        this.truncated = truncated;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Returns stdout followed by stderr of command.
+     *
+     * @return - command output.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     * Returns exit code of process, -1 if process was not started or was killed after timeout.
+     *
+     * @return - exit code.
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isSucceeded() {
+        return exitCode == 0 && !timedOut && !cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CommandExecution.class.getSimpleName() + "[", "]")
+                .add("exitCode=" + exitCode)
+                .add("timedOut=" + timedOut)
+                .add("cancelled=" + cancelled)
+                .add("truncated=" + truncated)
+                .add("durationMillis=" + durationMillis)
+                .add("outputLength=" + output.length())
+                .toString();
+    }
+}
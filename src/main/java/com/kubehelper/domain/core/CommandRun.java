@@ -0,0 +1,58 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.StringJoiner;
+
+/**
+ * Result of command run in background thread. Errors of the run are returned with result and not added to model,
+ * so model is updated only in desktop thread.
+ *
+ * @author JDev
+ */
+public class CommandRun {
+
+    private final CommandExecution execution;
+    private final Exception historyException;
+
+    public CommandRun(CommandExecution execution, Exception historyException) {
+        this.execution = execution;
+        this.historyException = historyException;
+    }
+
+    public CommandExecution getExecution() {
+        return execution;
+    }
+
+    /**
+     * Returns error of writing command to history, null if command is written.
+     *
+     * @return - history write error.
+     */
+    public Exception getHistoryException() {
+        return historyException;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CommandRun.class.getSimpleName() + "[", "]")
+                .add("execution=" + execution)
+                .add("historyException=" + historyException)
+                .toString();
+    }
+}
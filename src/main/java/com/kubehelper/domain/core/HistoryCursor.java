@@ -0,0 +1,97 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Position of newest-first reading over history files. Files are read one by one, entries of file are read from the end by offset index.
+ * Offsets and size of file are pinned on first read, so entries appended later do not shift pages.
+ *
+ * @author JDev
+ */
+public class HistoryCursor {
+
+    private final List<String> filePaths;
+    private int fileIndex;
+    private long[] offsets;
+    private long dataSize;
+    private int chunkIndex;
+
+    /**
+     * @param filePaths - history files, newest first.
+     */
+    public HistoryCursor(List<String> filePaths) {
+        this.filePaths = filePaths;
+    }
+
+    public boolean hasMore() {
+        return fileIndex < filePaths.size();
+    }
+
+    public String getFilePath() {
+        return filePaths.get(fileIndex);
+    }
+
+    public boolean isFileOpened() {
+        return Objects.nonNull(offsets);
+    }
+
+    /**
+     * Pins entries offsets of current file and moves position to its end.
+     *
+     * @param offsets  - entries start offsets in write order.
+     * @param dataSize - size of file.
+     */
+    public void openFile(long[] offsets, long dataSize) {
+        this.offsets = offsets;
+        this.dataSize = dataSize;
+        this.chunkIndex = offsets.length;
+    }
+
+    public boolean hasPreviousChunk() {
+        return isFileOpened() && chunkIndex > 0;
+    }
+
+    /**
+     * Moves position to previous entry of current file.
+     *
+     * @return - start and end offset of entry.
+     */
+    public long[] previousChunk() {
+        chunkIndex--;
+        long end = chunkIndex + 1 < offsets.length ? offsets[chunkIndex + 1] : dataSize;
+        return new long[]{offsets[chunkIndex], end};
+    }
+
+    public void nextFile() {
+        fileIndex++;
+        offsets = null;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HistoryCursor.class.getSimpleName() + "[", "]")
+                .add("files=" + filePaths.size())
+                .add("fileIndex=" + fileIndex)
+                .add("chunkIndex=" + chunkIndex)
+                .toString();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Entry of commands history or cron job report file, parsed from history/report template.
+ * Output is not stored separately, it is cut from raw text on demand.
+ *
+ * @author JDev
+ */
+public class HistoryEntry {
+
+    /**
+     * Header line of history entry "${time} ====" and of cron report "${time} ==== ${name} ====".
+     */
+    private static final Pattern HEADER_PATTERN = Pattern.compile("^(\\d{2}:\\d{2}:\\d{2} \\d{4}-\\d{2}-\\d{2}) =+(?: (.*?) =+)?[ \\t]*$", Pattern.MULTILINE);
+    private static final Pattern OUTPUT_SEPARATOR_PATTERN = Pattern.compile("^\\*{20,}[ \\t]*$", Pattern.MULTILINE);
+
+    private final String day;
+    private final String time;
+    private final String name;
+    private final String command;
+    private final String raw;
+    private final int outputStart;
+
+    /**
+     * @param outputStart - index of output in raw text. -1 if entry has no output.
+     */
+    public HistoryEntry(String day, String time, String name, String command, String raw, int outputStart) {
+        this.day = day;
+        this.time = time;
+        this.name = name;
+        this.command = command;
+        this.raw = raw;
+        this.outputStart = outputStart;
+    }
+
+    /**
+     * Parses entries from text in order of appearance. Text may contain several entries (files written before offset index).
+     * Text without header is returned as one entry with empty time and command.
+     *
+     * @param day  - day of history file.
+     * @param text - text of entries.
+     * @return - parsed entries.
+     */
+    public static List<HistoryEntry> parse(String day, String text) {
+        List<HistoryEntry> entries = new ArrayList<>();
+        Matcher header = HEADER_PATTERN.matcher(text);
+        List<Integer> starts = new ArrayList<>();
+        while (header.find()) {
+            starts.add(header.start());
+        }
+        if (starts.isEmpty() || !text.substring(0, starts.get(0)).isBlank()) {
+            int end = starts.isEmpty() ? text.length() : starts.get(0);
+            entries.add(new HistoryEntry(day, "", "", "", text.substring(0, end), 0));
+        }
+        for (int i = 0; i < starts.size(); i++) {
+            int end = i + 1 < starts.size() ? starts.get(i + 1) : text.length();
+            entries.add(parseEntry(day, text.substring(starts.get(i), end)));
+        }
+        return entries;
+    }
+
+    private static HistoryEntry parseEntry(String day, String raw) {
+        Matcher header = HEADER_PATTERN.matcher(raw);
+        header.find();
+        String time = header.group(1);
+        String name = header.group(2) == null ? "" : header.group(2);
+        String body = raw.substring(header.end());
+        Matcher separator = OUTPUT_SEPARATOR_PATTERN.matcher(body);
+        if (separator.find()) {
+            return new HistoryEntry(day, time, name, body.substring(0, separator.start()).strip(), raw, header.end() + separator.end());
+        }
+        return new HistoryEntry(day, time, name, body.strip(), raw, -1);
+    }
+
+    /**
+     * Returns entry header with command, without output.
+     *
+     * @return - entry header and command.
+     */
+    public String getHeaderWithCommand() {
+        if (time.isEmpty()) {
+            return "";
+        }
+        int headerEnd = raw.indexOf('\n');
+        String header = headerEnd < 0 ? raw : raw.substring(0, headerEnd);
+        return header + "\n\n" + command + "\n\n";
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getOutput() {
+        return outputStart < 0 ? "" : raw.substring(outputStart).strip();
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HistoryEntry.class.getSimpleName() + "[", "]")
+                .add("day='" + day + "'")
+                .add("time='" + time + "'")
+                .add("name='" + name + "'")
+                .add("command='" + command + "'")
+                .add("rawLength=" + raw.length())
+                .toString();
+    }
+}
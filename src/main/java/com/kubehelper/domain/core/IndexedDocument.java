@@ -0,0 +1,67 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import com.kubehelper.common.Resource;
+
+import java.util.StringJoiner;
+
+/**
+ * Kubernetes object in search index with its case folded trigrams.
+ *
+ * @author JDev
+ */
+public class IndexedDocument {
+
+    private final Resource resource;
+    private final String namespace;
+    private final Object object;
+    private final long[] trigrams;
+
+    public IndexedDocument(Resource resource, String namespace, Object object, long[] trigrams) {
+        this.resource = resource;
+        this.namespace = namespace;
+        this.object = object;
+        this.trigrams = trigrams;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public Object getObject() {
+        return object;
+    }
+
+    public long[] getTrigrams() {
+        return trigrams;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IndexedDocument.class.getSimpleName() + "[", "]")
+                .add("resource=" + resource)
+                .add("namespace='" + namespace + "'")
+                .add("trigrams=" + trigrams.length)
+                .toString();
+    }
+}
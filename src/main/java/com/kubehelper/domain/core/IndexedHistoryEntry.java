@@ -0,0 +1,113 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.StringJoiner;
+
+/**
+ * Commands history or cron job report entry in history search index. Keeps header, command and short output snippet, full output is not kept.
+ *
+ * @author JDev
+ */
+public class IndexedHistoryEntry {
+
+    public enum Source {
+        COMMANDS, REPORTS
+    }
+
+    private final Source source;
+    private final String filePath;
+    private final String day;
+    private final String time;
+    private final String name;
+    private final String command;
+    private final String headerWithCommand;
+    private final String snippet;
+
+    public IndexedHistoryEntry(Source source, String filePath, HistoryEntry entry, String snippet) {
+        this.source = source;
+        this.filePath = filePath;
+        this.day = entry.getDay();
+        this.time = entry.getTime();
+        this.name = entry.getName();
+        this.command = entry.getCommand();
+        this.headerWithCommand = entry.getHeaderWithCommand();
+        this.snippet = snippet;
+    }
+
+    /**
+     * Returns key for newest first ordering: day and time of day.
+     *
+     * @return - sort key.
+     */
+    public String getSortKey() {
+        return time.length() >= 8 ? day + " " + time.substring(0, 8) : day;
+    }
+
+    /**
+     * Returns entry text for search results: header, command and output snippet.
+     *
+     * @return - search result text.
+     */
+    public String getSearchResultText() {
+        return headerWithCommand + (snippet.isEmpty() ? "" : snippet + "\n\n");
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getHeaderWithCommand() {
+        return headerWithCommand;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IndexedHistoryEntry.class.getSimpleName() + "[", "]")
+                .add("source=" + source)
+                .add("day='" + day + "'")
+                .add("time='" + time + "'")
+                .add("name='" + name + "'")
+                .add("command='" + command + "'")
+                .toString();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import com.kubehelper.common.Resource;
+import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Inverted index of object labels. Every indexed object gets int id, every label key=value, label key, namespace and kind
+ * has bitmap of object ids. Label selectors are evaluated by bitmap intersections instead of checking labels of every object.
+ *
+ * @author JDev
+ */
+public class LabelIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final List<Resource> kinds = new ArrayList<>();
+    private final List<String> namespaces = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, BitSet> byLabel = new HashMap<>();
+    private final Map<String, BitSet> byLabelKey = new HashMap<>();
+    private final Map<String, BitSet> byNamespace = new HashMap<>();
+    private final Map<Resource, BitSet> byKind = new EnumMap<>(Resource.class);
+
+    /**
+     * Adds object labels to index.
+     *
+     * @param kind - object kind.
+     * @param meta - object meta.
+     */
+    public void add(Resource kind, V1ObjectMeta meta) {
+        int id = names.size();
+        kinds.add(kind);
+        namespaces.add(meta.getNamespace());
+        names.add(meta.getName());
+        byKind.computeIfAbsent(kind, k -> new BitSet()).set(id);
+        if (Objects.nonNull(meta.getNamespace())) {
+            byNamespace.computeIfAbsent(meta.getNamespace(), ns -> new BitSet()).set(id);
+        }
+        if (Objects.nonNull(meta.getLabels())) {
+            meta.getLabels().forEach((key, value) -> {
+                byLabel.computeIfAbsent(key + "=" + value, label -> new BitSet()).set(id);
+                byLabelKey.computeIfAbsent(key, label -> new BitSet()).set(id);
+            });
+        }
+    }
+
+    /**
+     * Evaluates label selector. Selector without labels and expressions selects all objects of kind in namespace.
+     *
+     * @param kind             - kind of selected objects.
+     * @param namespace        - namespace of selected objects, null for cluster scoped objects.
+     * @param matchLabels      - selector labels, can be null.
+     * @param matchExpressions - selector expressions, can be null.
+     * @return - ids of selected objects.
+     */
+    public BitSet select(Resource kind, String namespace, Map<String, String> matchLabels, List<V1LabelSelectorRequirement> matchExpressions) {
+        BitSet selected = copy(byKind.get(kind));
+        if (Objects.nonNull(namespace)) {
+            selected.and(orEmpty(byNamespace.get(namespace)));
+        }
+        if (Objects.nonNull(matchLabels)) {
+            for (Map.Entry<String, String> label : matchLabels.entrySet()) {
+                if (selected.isEmpty()) {
+                    return selected;
+                }
+                selected.and(orEmpty(byLabel.get(label.getKey() + "=" + label.getValue())));
+            }
+        }
+        if (Objects.nonNull(matchExpressions)) {
+            for (V1LabelSelectorRequirement requirement : matchExpressions) {
+                if (selected.isEmpty()) {
+                    return selected;
+                }
+                BitSet withValues = new BitSet();
+                Objects.requireNonNullElse(requirement.getValues(), List.<String>of()).forEach(value -> withValues.or(orEmpty(byLabel.get(requirement.getKey() + "=" + value))));
+                switch (requirement.getOperator()) {
+                    case "In" -> selected.and(withValues);
+                    case "NotIn" -> selected.andNot(withValues);
+                    case "Exists" -> selected.and(orEmpty(byLabelKey.get(requirement.getKey())));
+                    case "DoesNotExist" -> selected.andNot(orEmpty(byLabelKey.get(requirement.getKey())));
+                    default -> selected.clear();
+                }
+            }
+        }
+        return selected;
+    }
+
+    public Resource getKind(int id) {
+        return kinds.get(id);
+    }
+
+    public String getNamespace(int id) {
+        return namespaces.get(id);
+    }
+
+    public String getName(int id) {
+        return names.get(id);
+    }
+
+    public boolean contains(Resource kind) {
+        return byKind.containsKey(kind);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private BitSet copy(BitSet bitSet) {
+        return Objects.isNull(bitSet) ? new BitSet() : (BitSet) bitSet.clone();
+    }
+
+    //shared empty bitmap for absent keys, it is only read and never modified
+    private BitSet orEmpty(BitSet bitSet) {
+        return Objects.isNull(bitSet) ? EMPTY : bitSet;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", LabelIndex.class.getSimpleName() + "[", "]")
+                .add("objects=" + names.size())
+                .add("labels=" + byLabel.size())
+                .toString();
+    }
+}
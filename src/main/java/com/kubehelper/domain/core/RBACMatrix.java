@@ -0,0 +1,177 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled effective RBAC permissions.
+ * <p>
+ * Subjects and permissions are interned to int ids. For every scope (namespace of RoleBinding or cluster scope of ClusterRoleBinding)
+ * matrix keeps two bitset tables: subjects by permission and permissions by subject, so both "who can" and "what can" queries
+ * are answered with a few hash lookups and bitset unions.
+ *
+ * @author JDev
+ */
+public class RBACMatrix {
+
+    public static final String CLUSTER_SCOPE = "";
+    private static final String ANY = "*";
+
+    private final List<RBACSubject> subjects = new ArrayList<>();
+    private final Map<RBACSubject, Integer> subjectIds = new HashMap<>();
+    private final List<RBACPermission> permissions = new ArrayList<>();
+    private final Map<RBACPermission, Integer> permissionIds = new HashMap<>();
+    private final Map<String, Scope> scopes = new HashMap<>();
+
+    /**
+     * Adds grant of permission to subject in scope.
+     *
+     * @param scope      - namespace or {@link #CLUSTER_SCOPE}.
+     * @param subject    - binding subject.
+     * @param permission - permission from role rule.
+     */
+    public void grant(String scope, RBACSubject subject, RBACPermission permission) {
+        int subjectId = subjectIds.computeIfAbsent(subject, s -> {
+            subjects.add(s);
+            return subjects.size() - 1;
+        });
+        int permissionId = permissionIds.computeIfAbsent(permission, p -> {
+            permissions.add(p);
+            return permissions.size() - 1;
+        });
+        Scope table = scopes.computeIfAbsent(Objects.requireNonNullElse(scope, CLUSTER_SCOPE), s -> new Scope());
+        getOrCreate(table.subjectsByPermission, permissionId).set(subjectId);
+        getOrCreate(table.permissionsBySubject, subjectId).set(permissionId);
+    }
+
+    /**
+     * Finds subjects which can perform verb on resource. Grants with "*" apiGroup, resource or verb are taken into account.
+     *
+     * @param verb         - verb. e.g. get, list, delete.
+     * @param apiGroup     - api group, empty for core group.
+     * @param resource     - resource. e.g. pods, pods/log.
+     * @param resourceName - resource name or empty to check only grants not restricted by resourceNames.
+     * @param namespace    - namespace or empty to check only cluster wide grants.
+     * @return - subjects with permission.
+     */
+    public List<RBACSubject> whoCan(String verb, String apiGroup, String resource, String resourceName, String namespace) {
+        BitSet found = new BitSet(subjects.size());
+        List<Integer> permissionIdsToCheck = getMatchingPermissionIds(verb, Objects.requireNonNullElse(apiGroup, ""), resource, resourceName);
+        for (String scope : getScopes(namespace)) {
+            Scope table = scopes.get(scope);
+            if (Objects.isNull(table)) {
+                continue;
+            }
+            for (int permissionId : permissionIdsToCheck) {
+                if (permissionId < table.subjectsByPermission.size() && Objects.nonNull(table.subjectsByPermission.get(permissionId))) {
+                    found.or(table.subjectsByPermission.get(permissionId));
+                }
+            }
+        }
+        return found.stream().mapToObj(subjects::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Finds all permissions of subject.
+     *
+     * @param subject - binding subject.
+     * @return - permissions by scope, {@link #CLUSTER_SCOPE} key holds cluster wide permissions.
+     */
+    public Map<String, List<RBACPermission>> whatCan(RBACSubject subject) {
+        Map<String, List<RBACPermission>> found = new TreeMap<>();
+        Integer subjectId = subjectIds.get(subject);
+        if (Objects.isNull(subjectId)) {
+            return found;
+        }
+        scopes.forEach((scope, table) -> {
+            if (subjectId < table.permissionsBySubject.size() && Objects.nonNull(table.permissionsBySubject.get(subjectId))) {
+                found.put(scope, table.permissionsBySubject.get(subjectId).stream().mapToObj(permissions::get).collect(Collectors.toList()));
+            }
+        });
+        return found;
+    }
+
+    public int getSubjectsCount() {
+        return subjects.size();
+    }
+
+    public int getPermissionsCount() {
+        return permissions.size();
+    }
+
+    public int getScopesCount() {
+        return scopes.size();
+    }
+
+    private List<Integer> getMatchingPermissionIds(String verb, String apiGroup, String resource, String resourceName) {
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = StringUtils.isBlank(resourceName) ? List.of("") : List.of("", resourceName);
+        for (String group : List.of(apiGroup, ANY)) {
+            for (String res : List.of(resource, ANY)) {
+                for (String v : List.of(verb, ANY)) {
+                    for (String name : names) {
+                        Integer id = permissionIds.get(new RBACPermission(group, res, name, v));
+                        if (Objects.nonNull(id)) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<String> getScopes(String namespace) {
+        return (StringUtils.isBlank(namespace) || "all".equals(namespace)) ? List.of(CLUSTER_SCOPE) : List.of(CLUSTER_SCOPE, namespace);
+    }
+
+    private BitSet getOrCreate(List<BitSet> table, int id) {
+        while (table.size() <= id) {
+            table.add(null);
+        }
+        if (Objects.isNull(table.get(id))) {
+            table.set(id, new BitSet());
+        }
+        return table.get(id);
+    }
+
+    private static class Scope {
+        private final List<BitSet> subjectsByPermission = new ArrayList<>();
+        private final List<BitSet> permissionsBySubject = new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RBACMatrix.class.getSimpleName() + "[", "]")
+                .add("subjects=" + subjects.size())
+                .add("permissions=" + permissions.size())
+                .add("scopes=" + scopes.size())
+                .toString();
+    }
+}
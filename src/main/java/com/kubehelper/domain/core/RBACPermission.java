@@ -0,0 +1,81 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Single RBAC grant: verb on resource of api group. Empty resourceName means the grant is not restricted by resourceNames.
+ * Values are kept as written in role rules, so they can be "*".
+ *
+ * @author JDev
+ */
+public class RBACPermission {
+
+    private final String apiGroup;
+    private final String resource;
+    private final String resourceName;
+    private final String verb;
+
+    public RBACPermission(String apiGroup, String resource, String resourceName, String verb) {
+        this.apiGroup = Objects.requireNonNullElse(apiGroup, "");
+        this.resource = resource;
+        this.resourceName = Objects.requireNonNullElse(resourceName, "");
+        this.verb = verb;
+    }
+
+    public String getApiGroup() {
+        return apiGroup;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RBACPermission that = (RBACPermission) o;
+        return apiGroup.equals(that.apiGroup) && resource.equals(that.resource) && resourceName.equals(that.resourceName) && verb.equals(that.verb);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(apiGroup, resource, resourceName, verb);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RBACPermission.class.getSimpleName() + "[", "]")
+                .add("apiGroup='" + apiGroup + "'")
+                .add("resource='" + resource + "'")
+                .add("resourceName='" + resourceName + "'")
+                .add("verb='" + verb + "'")
+                .toString();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * RBAC binding subject: User, Group or ServiceAccount.
+ *
+ * @author JDev
+ */
+public class RBACSubject {
+
+    private final String kind;
+    private final String namespace;
+    private final String name;
+
+    public RBACSubject(String kind, String namespace, String name) {
+        this.kind = kind;
+        this.namespace = Objects.requireNonNullElse(namespace, "");
+        this.name = name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RBACSubject that = (RBACSubject) o;
+        return kind.equals(that.kind) && namespace.equals(that.namespace) && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, namespace, name);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RBACSubject.class.getSimpleName() + "[", "]")
+                .add("kind='" + kind + "'")
+                .add("namespace='" + namespace + "'")
+                .add("name='" + name + "'")
+                .toString();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.core;
+
+import com.kubehelper.common.Resource;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+import java.util.StringJoiner;
+
+/**
+ * Lightweight reference to kubernetes object. Used instead of storing full object definition in results,
+ * the definition is fetched on demand by this reference.
+ *
+ * @author JDev
+ */
+public class ResourceReference {
+
+    private final Resource resourceType;
+    private final String namespace;
+    private final String name;
+    private final String uid;
+    private final String resourceVersion;
+
+    public ResourceReference(Resource resourceType, V1ObjectMeta meta) {
+        this.resourceType = resourceType;
+        this.namespace = meta.getNamespace();
+        this.name = meta.getName();
+        this.uid = meta.getUid();
+        this.resourceVersion = meta.getResourceVersion();
+    }
+
+    /**
+     * Key which identifies object state. Object with the same uid and resourceVersion has the same definition.
+     *
+     * @return - uid:resourceVersion key.
+     */
+    public String getVersionKey() {
+        return uid + ":" + resourceVersion;
+    }
+
+    public Resource getResourceType() {
+        return resourceType;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ResourceReference.class.getSimpleName() + "[", "]")
+                .add("resourceType=" + resourceType)
+                .add("namespace='" + namespace + "'")
+                .add("name='" + name + "'")
+                .add("uid='" + uid + "'")
+                .add("resourceVersion='" + resourceVersion + "'")
+                .toString();
+    }
+}
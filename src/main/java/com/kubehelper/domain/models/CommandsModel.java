@@ -20,6 +20,8 @@ package com.kubehelper.domain.models;
 import com.google.common.collect.ImmutableSortedMap;
 import com.kubehelper.common.Global;
 import com.kubehelper.common.KubeHelperException;
+import com.kubehelper.domain.core.HistoryCursor;
+import com.kubehelper.domain.core.HistoryEntry;
 import com.kubehelper.domain.filters.CommandsFilter;
 import com.kubehelper.domain.results.CommandsResult;
 import com.kubehelper.domain.results.FileSourceResult;
@@ -89,10 +91,14 @@ public class CommandsModel implements PageModel {
     private final List<String> commandsHistoryRanges = Arrays.asList("This Week", "This Month", "This Year", "All");
 
     private String selectedCommandsHistoryLabel = "";
-    private String selectedCommandsHistoryRaw = "";
-    private String commandsRawHistoryBuffer = "";
+    private final StringBuilder selectedCommandsHistoryRaw = new StringBuilder();
     private String selectedCommandsHistoryRange = "";
     private boolean showOnlyCommandsInHistory;
+    private HistoryCursor historyCursor = new HistoryCursor(List.of());
+    private List<HistoryEntry> historyEntries = new ArrayList<>();
+    private boolean historyWithDayHeaders;
+    private String historyRenderedDay;
+    private String historySearchQuery = "";
 
 
     public CommandsModel() {
@@ -436,14 +442,24 @@ public class CommandsModel implements PageModel {
     }
 
     public String getSelectedCommandsHistoryRaw() {
-        return selectedCommandsHistoryRaw;
+        return selectedCommandsHistoryRaw.toString();
     }
 
     public CommandsModel setSelectedCommandsHistoryRaw(String selectedCommandsHistoryRaw) {
-        this.selectedCommandsHistoryRaw = selectedCommandsHistoryRaw;
+        this.selectedCommandsHistoryRaw.setLength(0);
+        this.selectedCommandsHistoryRaw.append(selectedCommandsHistoryRaw);
         return this;
     }
 
+    public CommandsModel appendToSelectedCommandsHistoryRaw(String historyPageRaw) {
+        this.selectedCommandsHistoryRaw.append(historyPageRaw);
+        return this;
+    }
+
+    public boolean isSelectedCommandsHistoryRawEmpty() {
+        return selectedCommandsHistoryRaw.length() == 0;
+    }
+
     public Map<String, FileSourceResult> getCommandsHistories() {
         return commandsHistories;
     }
@@ -483,12 +499,48 @@ public class CommandsModel implements PageModel {
         return this;
     }
 
-    public String getCommandsRawHistoryBuffer() {
-        return commandsRawHistoryBuffer;
+    public HistoryCursor getHistoryCursor() {
+        return historyCursor;
+    }
+
+    public CommandsModel setHistoryCursor(HistoryCursor historyCursor) {
+        this.historyCursor = historyCursor;
+        return this;
+    }
+
+    public List<HistoryEntry> getHistoryEntries() {
+        return historyEntries;
+    }
+
+    public CommandsModel setHistoryEntries(List<HistoryEntry> historyEntries) {
+        this.historyEntries = historyEntries;
+        return this;
+    }
+
+    public boolean isHistoryWithDayHeaders() {
+        return historyWithDayHeaders;
+    }
+
+    public CommandsModel setHistoryWithDayHeaders(boolean historyWithDayHeaders) {
+        this.historyWithDayHeaders = historyWithDayHeaders;
+        return this;
+    }
+
+    public String getHistoryRenderedDay() {
+        return historyRenderedDay;
+    }
+
+    public CommandsModel setHistoryRenderedDay(String historyRenderedDay) {
+        this.historyRenderedDay = historyRenderedDay;
+        return this;
+    }
+
+    public String getHistorySearchQuery() {
+        return historySearchQuery;
     }
 
-    public CommandsModel setCommandsRawHistoryBuffer(String commandsRawHistoryBuffer) {
-        this.commandsRawHistoryBuffer = commandsRawHistoryBuffer;
+    public CommandsModel setHistorySearchQuery(String historySearchQuery) {
+        this.historySearchQuery = historySearchQuery;
         return this;
     }
 
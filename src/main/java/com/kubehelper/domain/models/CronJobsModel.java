@@ -66,6 +66,7 @@ public class CronJobsModel implements PageModel {
     private String selectedReportRaw = "";
     private String commandsRawReportBuffer = "";
     private String selectedReportsFolder = "";
+    private String reportsSearchQuery = "";
 
     @Override
     public String getTemplateUrl() {
@@ -246,6 +247,15 @@ public class CronJobsModel implements PageModel {
         return runtimeNotificationExceptions;
     }
 
+    public String getReportsSearchQuery() {
+        return reportsSearchQuery;
+    }
+
+    public CronJobsModel setReportsSearchQuery(String reportsSearchQuery) {
+        this.reportsSearchQuery = reportsSearchQuery;
+        return this;
+    }
+
     public String getSelectedReportsFolder() {
         return selectedReportsFolder;
     }
@@ -21,14 +21,15 @@ import com.kubehelper.common.Global;
 import com.kubehelper.common.KubeHelperException;
 import com.kubehelper.common.Resource;
 import com.kubehelper.common.ResourceProperty;
+import com.kubehelper.domain.core.LabelIndex;
 import com.kubehelper.domain.filters.LabelsFilter;
 import com.kubehelper.domain.filters.LabelsGroupedColumnsFilter;
 import com.kubehelper.domain.filters.LabelsGroupedFilter;
 import com.kubehelper.domain.results.LabelResult;
+import com.kubehelper.domain.results.SelectorResult;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +54,8 @@ public class LabelsModel implements PageModel {
     private List<GroupedLabel> groupedLabels = new ArrayList<>();
     private List<GroupedLabelColumn> groupedLabelsColumns = new ArrayList<>();
     private String clickedLabelsGroup = "";
+    private List<SelectorResult> selectorsResults = new ArrayList<>();
+    private LabelIndex labelIndex = new LabelIndex();
 
     public LabelsModel() {
     }
@@ -66,31 +69,38 @@ public class LabelsModel implements PageModel {
         return this;
     }
 
+    public LabelsModel addSelectorResult(SelectorResult selectorResult) {
+        selectorsResults.add(selectorResult);
+        return this;
+    }
+
     public void groupSearchResults() {
-        groupedSearchResults.clear();
-        groupedLabels.clear();
-        for (LabelResult searchResult : searchResults) {
-            if (groupedSearchResults.containsKey(searchResult.getName())) {
-                groupedSearchResults.get(searchResult.getName()).add(searchResult);
-                incrementFoundSearchResult(searchResult.getName());
-            } else {
-                groupedSearchResults.put(searchResult.getName(), new ArrayList<>(Collections.singletonList(searchResult)));
-                groupedLabels.add(new GroupedLabel(groupedLabels.size() + 1).setName(searchResult.getName()).setAmount("1"));
-            }
-        }
+        groupLabels(searchResults);
     }
 
     public void reGroupSearchResultsAfterFilter(List<LabelResult> filteredSearchResults) {
+        groupLabels(filteredSearchResults);
+    }
+
+    /**
+     * Groups label results by label name in a single pass. Grouped label is found by name in hash map and its amount is incremented as int counter.
+     *
+     * @param labelResults - label results to group.
+     */
+    private void groupLabels(List<LabelResult> labelResults) {
         groupedSearchResults.clear();
         groupedLabels.clear();
-        for (LabelResult searchResult : filteredSearchResults) {
-            if (groupedSearchResults.containsKey(searchResult.getName())) {
-                groupedSearchResults.get(searchResult.getName()).add(searchResult);
-                incrementFoundSearchResult(searchResult.getName());
-            } else {
-                groupedSearchResults.put(searchResult.getName(), new ArrayList<>(Collections.singletonList(searchResult)));
-                groupedLabels.add(new GroupedLabel(groupedLabels.size() + 1).setName(searchResult.getName()).setAmount("1"));
+        Map<String, GroupedLabel> groupedLabelsByName = new HashMap<>();
+        for (LabelResult searchResult : labelResults) {
+            GroupedLabel groupedLabel = groupedLabelsByName.get(searchResult.getName());
+            if (groupedLabel == null) {
+                groupedLabel = new GroupedLabel(groupedLabels.size() + 1).setName(searchResult.getName());
+                groupedLabelsByName.put(searchResult.getName(), groupedLabel);
+                groupedLabels.add(groupedLabel);
+                groupedSearchResults.put(searchResult.getName(), new ArrayList<>());
             }
+            groupedSearchResults.get(searchResult.getName()).add(searchResult);
+            groupedLabel.incrementAmount();
         }
     }
 
@@ -127,15 +137,6 @@ public class LabelsModel implements PageModel {
         }
     }
 
-    private void incrementFoundSearchResult(String name) {
-        for (GroupedLabel groupedLabel : groupedLabels) {
-            if (groupedLabel.getName().equals(name)) {
-                groupedLabel.setAmount(String.valueOf(Integer.parseInt(groupedLabel.getAmount()) + 1));
-                break;
-            }
-        }
-    }
-
     public void addSearchException(Exception exception) {
         this.searchExceptions.add(new KubeHelperException(exception));
     }
@@ -256,6 +257,24 @@ public class LabelsModel implements PageModel {
         return groupedSearchResults.get(name);
     }
 
+    public List<SelectorResult> getSelectorsResults() {
+        return selectorsResults;
+    }
+
+    public LabelsModel setSelectorsResults(List<SelectorResult> selectorsResults) {
+        this.selectorsResults = selectorsResults;
+        return this;
+    }
+
+    public LabelIndex getLabelIndex() {
+        return labelIndex;
+    }
+
+    public LabelsModel setLabelIndex(LabelIndex labelIndex) {
+        this.labelIndex = labelIndex;
+        return this;
+    }
+
     public String getClickedLabelsGroup() {
         return clickedLabelsGroup;
     }
@@ -268,7 +287,7 @@ public class LabelsModel implements PageModel {
     public class GroupedLabel {
         private int id;
         private String name = "";
-        private String amount = "";
+        private int amount;
 
         public GroupedLabel(int id) {
             this.id = id;
@@ -293,13 +312,22 @@ public class LabelsModel implements PageModel {
         }
 
         public String getAmount() {
+            return String.valueOf(amount);
+        }
+
+        public int getAmountValue() {
             return amount;
         }
 
-        public GroupedLabel setAmount(String amount) {
+        public GroupedLabel setAmount(int amount) {
             this.amount = amount;
             return this;
         }
+
+        public GroupedLabel incrementAmount() {
+            amount++;
+            return this;
+        }
     }
 
     public class GroupedLabelColumn {
@@ -17,6 +17,8 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.domain.models;
 
+import com.kubehelper.domain.core.CancellationHandle;
+
 /**
  * @author JDev
  */
@@ -27,4 +29,13 @@ public interface PageModel {
     String getName();
 
     void addException(String message, Exception exception);
+
+    /**
+     * Returns cancellation handle of running operation of the page.
+     *
+     * @return - cancellation handle or null if operation cannot be cancelled.
+     */
+    default CancellationHandle getCancellationHandle() {
+        return null;
+    }
 }
@@ -19,12 +19,19 @@ package com.kubehelper.domain.models;
 
 import com.kubehelper.common.Global;
 import com.kubehelper.common.KubeHelperException;
+import com.kubehelper.common.Resource;
+import com.kubehelper.common.matchers.SearchMatcher;
+import com.kubehelper.common.matchers.SearchMode;
+import com.kubehelper.domain.core.CancellationHandle;
+import com.kubehelper.domain.core.IndexedDocument;
 import com.kubehelper.domain.filters.SearchFilter;
 import com.kubehelper.domain.results.SearchResult;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author JDev
@@ -41,6 +48,12 @@ public class SearchModel implements PageModel {
     private String searchString = "";
     private boolean skipKubeNamespaces = true;
     private boolean skipNativeEnvVars = true;
+    private SearchMode searchMode = SearchMode.LITERAL;
+    private boolean negateSearch;
+    private boolean streamSearchResults = true;
+    private SearchMatcher searchMatcher;
+    private Map<Resource, List<IndexedDocument>> indexCandidates;
+    private CancellationHandle cancellationHandle;
 
     public SearchModel() {
     }
@@ -59,6 +72,37 @@ public class SearchModel implements PageModel {
         return this;
     }
 
+    /**
+     * Creates empty model with the same search parameters. Used to collect results of one resource type during parallel search.
+     *
+     * @return - new search model.
+     */
+    public SearchModel copySearchParameters() {
+        return new SearchModel()
+                .setSelectedNamespace(selectedNamespace)
+                .setSearchString(searchString)
+                .setSkipKubeNamespaces(skipKubeNamespaces)
+                .setSkipNativeEnvVars(skipNativeEnvVars)
+                .setSearchMode(searchMode)
+                .setNegateSearch(negateSearch)
+                .setSearchMatcher(searchMatcher)
+                .setIndexCandidates(indexCandidates)
+                .setCancellationHandle(cancellationHandle);
+    }
+
+    /**
+     * Appends results, resource names filter and exceptions of partial model. Results ids continue numbering of this model.
+     *
+     * @param partialModel - model with results of one resource type.
+     * @return - this model.
+     */
+    public SearchModel mergeSearchModel(SearchModel partialModel) {
+        partialModel.getSearchResults().forEach(searchResult -> addSearchResult(searchResult.setId(searchResults.size() + 1)));
+        partialModel.getFilter().getResourceNamesFilter().forEach(this::addResourceNameFilter);
+        searchExceptions.addAll(partialModel.getSearchExceptions());
+        return this;
+    }
+
     public void addSearchException(Exception exception) {
         this.searchExceptions.add(new KubeHelperException(exception));
     }
@@ -153,4 +197,68 @@ public class SearchModel implements PageModel {
         this.skipNativeEnvVars = skipNativeEnvVars;
         return this;
     }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public SearchModel setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+        return this;
+    }
+
+    public boolean isNegateSearch() {
+        return negateSearch;
+    }
+
+    public SearchModel setNegateSearch(boolean negateSearch) {
+        this.negateSearch = negateSearch;
+        return this;
+    }
+
+    public boolean isStreamSearchResults() {
+        return streamSearchResults;
+    }
+
+    public SearchModel setStreamSearchResults(boolean streamSearchResults) {
+        this.streamSearchResults = streamSearchResults;
+        return this;
+    }
+
+    public SearchMatcher getSearchMatcher() {
+        return searchMatcher;
+    }
+
+    public SearchModel setSearchMatcher(SearchMatcher searchMatcher) {
+        this.searchMatcher = searchMatcher;
+        return this;
+    }
+
+    public Map<Resource, List<IndexedDocument>> getIndexCandidates() {
+        return indexCandidates;
+    }
+
+    public SearchModel setIndexCandidates(Map<Resource, List<IndexedDocument>> indexCandidates) {
+        this.indexCandidates = indexCandidates;
+        return this;
+    }
+
+    @Override
+    public CancellationHandle getCancellationHandle() {
+        return cancellationHandle;
+    }
+
+    public SearchModel setCancellationHandle(CancellationHandle cancellationHandle) {
+        this.cancellationHandle = cancellationHandle;
+        return this;
+    }
+
+    /**
+     * Checks if last search was cancelled by user or by deadline. Results of cancelled search are partial.
+     *
+     * @return - true if search was cancelled.
+     */
+    public boolean isCancelled() {
+        return Objects.nonNull(cancellationHandle) && cancellationHandle.isCancelled();
+    }
 }
@@ -20,11 +20,13 @@ package com.kubehelper.domain.models;
 import com.kubehelper.common.Global;
 import com.kubehelper.common.KubeHelperException;
 import com.kubehelper.common.Resource;
+import com.kubehelper.domain.core.RBACSubject;
 import com.kubehelper.domain.filters.RBACFilter;
 import com.kubehelper.domain.filters.RolesSecurityFilter;
 import com.kubehelper.domain.results.ContainerSecurityResult;
 import com.kubehelper.domain.results.PodSecurityContextResult;
 import com.kubehelper.domain.results.PodSecurityPoliciesResult;
+import com.kubehelper.domain.results.RBACPermissionResult;
 import com.kubehelper.domain.results.RBACResult;
 import com.kubehelper.domain.results.RoleResult;
 import com.kubehelper.domain.results.ServiceAccountResult;
@@ -53,6 +55,8 @@ public class SecurityModel implements PageModel {
 
     private List<String> namespaces = new ArrayList<>();
     private Map<Integer, RoleResult> rolesResults = new HashMap<>();
+    //key is kind/namespace/name of role, kept alongside rolesResults for bindings lookup
+    private Map<String, RoleResult> rolesIndex = new HashMap<>();
     private List<PodSecurityContextResult> podsSecurityContextResults = new ArrayList<>();
     private List<RBACResult> rbacsResults = new ArrayList<>();
     private List<ContainerSecurityResult> containersSecurityResults = new ArrayList<>();
@@ -64,12 +68,25 @@ public class SecurityModel implements PageModel {
     private List<KubeHelperException> searchExceptions = new ArrayList<>();
     private boolean skipKubeNamespaces = true;
 
+    //who can / what can queries over compiled RBAC matrix
+    private String whoCanVerb = "get";
+    private String whoCanApiGroup = "";
+    private String whoCanResource = "pods";
+    private String whoCanResourceName = "";
+    private String selectedWhoCanNamespace = "all";
+    private String whatCanSubjectKind = "ServiceAccount";
+    private String whatCanSubjectNamespace = "";
+    private String whatCanSubjectName = "";
+    private List<RBACSubject> whoCanResults = new ArrayList<>();
+    private List<RBACPermissionResult> whatCanResults = new ArrayList<>();
+
     public SecurityModel() {
     }
 
 
     public SecurityModel addRoleResult(RoleResult roleResult) {
         rolesResults.put(roleResult.getId(), roleResult);
+        rolesIndex.put(getRoleKey(roleResult.getResourceType(), roleResult.getNamespace(), roleResult.getResourceName()), roleResult);
         rolesFilter.addResourceNamesFilter(roleResult.getResourceName());
         rolesFilter.addNamespacesFilter(roleResult.getNamespace());
         rolesFilter.addResourceTypesFilter(roleResult.getResourceType());
@@ -107,13 +124,25 @@ public class SecurityModel implements PageModel {
         return this;
     }
 
-    public void addRoleSubjects(String roleName, Resource resource, List<V1beta1Subject> subjects) {
-        Optional<RoleResult> role = findRole(roleName, resource);
+    /**
+     * Adds binding subjects to found role.
+     *
+     * @param roleName  - role name from binding roleRef.
+     * @param namespace - role namespace, null for cluster role.
+     * @param resource  - {@link Resource#ROLE} or {@link Resource#CLUSTER_ROLE}.
+     * @param subjects  - binding subjects.
+     */
+    public void addRoleSubjects(String roleName, String namespace, Resource resource, List<V1beta1Subject> subjects) {
+        Optional<RoleResult> role = findRole(roleName, namespace, resource);
         role.ifPresent(roleResult -> roleResult.addRoleSubjects(subjects));
     }
 
-    private Optional<RoleResult> findRole(String name, Resource resource) {
-        return rolesResults.values().stream().filter(item -> item.getResourceName().equals(name) && item.getResourceType().equals(resource.getKind())).findFirst();
+    private Optional<RoleResult> findRole(String name, String namespace, Resource resource) {
+        return Optional.ofNullable(rolesIndex.get(getRoleKey(resource.getKind(), namespace == null ? "N/A" : namespace, name)));
+    }
+
+    private String getRoleKey(String kind, String namespace, String name) {
+        return String.join("/", kind, namespace, name);
     }
 
     public void addSearchException(Exception exception) {
@@ -225,6 +254,8 @@ public class SecurityModel implements PageModel {
 
     public SecurityModel setRolesResults(Map<Integer, RoleResult> rolesResults) {
         this.rolesResults = rolesResults;
+        this.rolesIndex = new HashMap<>();
+        rolesResults.values().forEach(role -> rolesIndex.put(getRoleKey(role.getResourceType(), role.getNamespace(), role.getResourceName()), role));
         return this;
     }
 
@@ -300,4 +331,94 @@ public class SecurityModel implements PageModel {
         this.skipKubeNamespaces = skipKubeNamespaces;
         return this;
     }
+
+    public String getWhoCanVerb() {
+        return whoCanVerb;
+    }
+
+    public SecurityModel setWhoCanVerb(String whoCanVerb) {
+        this.whoCanVerb = whoCanVerb;
+        return this;
+    }
+
+    public String getWhoCanApiGroup() {
+        return whoCanApiGroup;
+    }
+
+    public SecurityModel setWhoCanApiGroup(String whoCanApiGroup) {
+        this.whoCanApiGroup = whoCanApiGroup;
+        return this;
+    }
+
+    public String getWhoCanResource() {
+        return whoCanResource;
+    }
+
+    public SecurityModel setWhoCanResource(String whoCanResource) {
+        this.whoCanResource = whoCanResource;
+        return this;
+    }
+
+    public String getWhoCanResourceName() {
+        return whoCanResourceName;
+    }
+
+    public SecurityModel setWhoCanResourceName(String whoCanResourceName) {
+        this.whoCanResourceName = whoCanResourceName;
+        return this;
+    }
+
+    public String getSelectedWhoCanNamespace() {
+        return selectedWhoCanNamespace;
+    }
+
+    public SecurityModel setSelectedWhoCanNamespace(String selectedWhoCanNamespace) {
+        this.selectedWhoCanNamespace = selectedWhoCanNamespace;
+        return this;
+    }
+
+    public String getWhatCanSubjectKind() {
+        return whatCanSubjectKind;
+    }
+
+    public SecurityModel setWhatCanSubjectKind(String whatCanSubjectKind) {
+        this.whatCanSubjectKind = whatCanSubjectKind;
+        return this;
+    }
+
+    public String getWhatCanSubjectNamespace() {
+        return whatCanSubjectNamespace;
+    }
+
+    public SecurityModel setWhatCanSubjectNamespace(String whatCanSubjectNamespace) {
+        this.whatCanSubjectNamespace = whatCanSubjectNamespace;
+        return this;
+    }
+
+    public String getWhatCanSubjectName() {
+        return whatCanSubjectName;
+    }
+
+    public SecurityModel setWhatCanSubjectName(String whatCanSubjectName) {
+        this.whatCanSubjectName = whatCanSubjectName;
+        return this;
+    }
+
+    public List<RBACSubject> getWhoCanResults() {
+        return whoCanResults;
+    }
+
+    public SecurityModel setWhoCanResults(List<RBACSubject> whoCanResults) {
+        this.whoCanResults = whoCanResults;
+        return this;
+    }
+
+    public List<RBACPermissionResult> getWhatCanResults() {
+        return whatCanResults;
+    }
+
+    public SecurityModel setWhatCanResults(List<RBACPermissionResult> whatCanResults) {
+        this.whatCanResults = whatCanResults;
+        return this;
+    }
 }
@@ -0,0 +1,100 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.results;
+
+import java.util.StringJoiner;
+
+/**
+ * Effective permission of RBAC subject in namespace or cluster wide. Result of "what can" query.
+ *
+ * @author JDev
+ */
+public class RBACPermissionResult {
+
+    private int id;
+    private String scope = "";
+    private String apiGroup = "";
+    private String resource = "";
+    private String resourceName = "";
+    private String verb = "";
+
+    public RBACPermissionResult(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public RBACPermissionResult setScope(String scope) {
+        this.scope = scope;
+        return this;
+    }
+
+    public String getApiGroup() {
+        return apiGroup;
+    }
+
+    public RBACPermissionResult setApiGroup(String apiGroup) {
+        this.apiGroup = apiGroup;
+        return this;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public RBACPermissionResult setResource(String resource) {
+        this.resource = resource;
+        return this;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public RBACPermissionResult setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+        return this;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public RBACPermissionResult setVerb(String verb) {
+        this.verb = verb;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RBACPermissionResult.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("scope='" + scope + "'")
+                .add("apiGroup='" + apiGroup + "'")
+                .add("resource='" + resource + "'")
+                .add("resourceName='" + resourceName + "'")
+                .add("verb='" + verb + "'")
+                .toString();
+    }
+}
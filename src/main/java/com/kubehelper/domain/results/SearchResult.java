@@ -18,6 +18,7 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 package com.kubehelper.domain.results;
 
 import com.kubehelper.common.Resource;
+import com.kubehelper.domain.core.ResourceReference;
 
 import java.util.StringJoiner;
 
@@ -33,13 +34,18 @@ public class SearchResult {
     private String creationTime = "";
     private String additionalInfo = "";
     private String foundString = "";
-    private String fullDefinition = "";
+    private ResourceReference resourceReference;
 
 
     public SearchResult(int id) {
         this.id = id;
     }
 
+    public SearchResult setId(int id) {
+        this.id = id;
+        return this;
+    }
+
     public String getNamespace() {
         return namespace;
     }
@@ -102,12 +108,12 @@ public class SearchResult {
         return id;
     }
 
-    public String getFullDefinition() {
-        return fullDefinition;
+    public ResourceReference getResourceReference() {
+        return resourceReference;
     }
 
-    public SearchResult setFullDefinition(String fullDefinition) {
-        this.fullDefinition = fullDefinition;
+    public SearchResult setResourceReference(ResourceReference resourceReference) {
+        this.resourceReference = resourceReference;
         return this;
     }
 
@@ -121,7 +127,7 @@ public class SearchResult {
                 .add("creationTime='" + creationTime + "'")
                 .add("additionalInfo='" + additionalInfo + "'")
                 .add("foundString='" + foundString + "'")
-                .add("fullDefinition='" + fullDefinition + "'")
+                .add("resourceReference=" + resourceReference)
                 .toString();
     }
 }
\ No newline at end of file
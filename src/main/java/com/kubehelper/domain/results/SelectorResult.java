@@ -0,0 +1,159 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.domain.results;
+
+import com.kubehelper.common.Resource;
+import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Label selector of resource and objects matched by it.
+ *
+ * @author JDev
+ */
+public class SelectorResult {
+
+    private int id;
+    private Resource resourceType;
+    private String resourceName = "";
+    private String namespace = "";
+    private Resource targetResourceType;
+    private Map<String, String> matchLabels;
+    private List<V1LabelSelectorRequirement> matchExpressions;
+    private int matchedAmount;
+    private String matchedObjects = "";
+
+    public SelectorResult(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getResourceType() {
+        return resourceType.getKind();
+    }
+
+    public Resource getRawResourceType() {
+        return resourceType;
+    }
+
+    public SelectorResult setResourceType(Resource resourceType) {
+        this.resourceType = resourceType;
+        return this;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public SelectorResult setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+        return this;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public SelectorResult setNamespace(String namespace) {
+        this.namespace = namespace;
+        return this;
+    }
+
+    public String getTargetResourceType() {
+        return targetResourceType.getKind();
+    }
+
+    public Resource getRawTargetResourceType() {
+        return targetResourceType;
+    }
+
+    public SelectorResult setTargetResourceType(Resource targetResourceType) {
+        this.targetResourceType = targetResourceType;
+        return this;
+    }
+
+    public Map<String, String> getMatchLabels() {
+        return matchLabels;
+    }
+
+    public SelectorResult setMatchLabels(Map<String, String> matchLabels) {
+        this.matchLabels = matchLabels;
+        return this;
+    }
+
+    public List<V1LabelSelectorRequirement> getMatchExpressions() {
+        return matchExpressions;
+    }
+
+    public SelectorResult setMatchExpressions(List<V1LabelSelectorRequirement> matchExpressions) {
+        this.matchExpressions = matchExpressions;
+        return this;
+    }
+
+    public String getSelector() {
+        StringJoiner selector = new StringJoiner(", ");
+        if (matchLabels != null) {
+            matchLabels.forEach((key, value) -> selector.add(key + "=" + value));
+        }
+        if (matchExpressions != null) {
+            matchExpressions.forEach(expression -> selector.add(expression.getKey() + " " + expression.getOperator() + (expression.getValues() == null ? "" : " " + expression.getValues())));
+        }
+        return selector.toString();
+    }
+
+    public int getMatchedAmount() {
+        return matchedAmount;
+    }
+
+    public SelectorResult setMatchedAmount(int matchedAmount) {
+        this.matchedAmount = matchedAmount;
+        return this;
+    }
+
+    public String getMatchedObjects() {
+        return matchedObjects;
+    }
+
+    public SelectorResult setMatchedObjects(String matchedObjects) {
+        this.matchedObjects = matchedObjects;
+        return this;
+    }
+
+    public boolean isOrphaned() {
+        return matchedAmount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SelectorResult.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("resourceType=" + resourceType)
+                .add("resourceName='" + resourceName + "'")
+                .add("namespace='" + namespace + "'")
+                .add("targetResourceType=" + targetResourceType)
+                .add("selector='" + getSelector() + "'")
+                .add("matchedAmount=" + matchedAmount)
+                .toString();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.services;
+
+import com.kubehelper.domain.core.CancellationHandle;
+import com.kubehelper.domain.core.CommandExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executes shell commands. Every execution gets its own process, stdout and stderr are drained concurrently into bounded buffers,
+ * so neither stream can block the process and huge output cannot exhaust memory. Process is killed after timeout.
+ *
+ * @author JDev
+ */
+@Service
+public class CommandExecutorService {
+
+    private static Logger logger = LoggerFactory.getLogger(CommandExecutorService.class);
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final long DRAIN_AFTER_EXIT_TIMEOUT_SECONDS = 5;
+    private static final long DESTROY_TIMEOUT_SECONDS = 2;
+    private static final long OUTPUT_POLL_MILLIS = 20;
+
+    @Value("${kubehelper.commands.execution.timeout.seconds}")
+    private long defaultTimeoutSeconds;
+
+    @Value("${kubehelper.commands.streaming.execution.timeout.seconds}")
+    private long streamingTimeoutSeconds;
+
+    @Value("${kubehelper.commands.execution.max.output.mb}")
+    private int maxOutputMb;
+
+    private ExecutorService drainExecutor;
+
+    @PostConstruct
+    private void postConstruct() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        drainExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kubehelper-command-output-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        drainExecutor.shutdownNow();
+    }
+
+    /**
+     * Executes command with default timeout.
+     *
+     * @param shell   - shell type. e.g. bash.
+     * @param command - command to execute.
+     * @return - @{@link CommandExecution} with stdout followed by stderr and exit code.
+     */
+    public CommandExecution execute(String shell, String command) {
+        return execute(shell, command, defaultTimeoutSeconds);
+    }
+
+    /**
+     * Executes command in new process and waits for it at most timeoutSeconds.
+     *
+     * @param shell          - shell type. e.g. bash.
+     * @param command        - command to execute.
+     * @param timeoutSeconds - max execution time, process is killed after it. 0 or less - without timeout.
+     * @return - @{@link CommandExecution} with stdout followed by stderr and exit code.
+     */
+    public CommandExecution execute(String shell, String command, long timeoutSeconds) {
+        return execute(shell, command, timeoutSeconds, null, null);
+    }
+
+    /**
+     * Executes command in new process and streams its output while it runs. Streamed commands can run long, e.g. watches,
+     * so they are killed after separate streaming timeout, which is off by default, or when handle is cancelled.
+     *
+     * @param shell              - shell type. e.g. bash.
+     * @param command            - command to execute.
+     * @param cancellationHandle - process is killed when handle is cancelled.
+     * @param outputListener     - receives stdout and stderr chunks as soon as they are read, called from reader threads.
+     * @return - @{@link CommandExecution} with stdout followed by stderr and exit code.
+     */
+    public CommandExecution execute(String shell, String command, CancellationHandle cancellationHandle, Consumer<String> outputListener) {
+        return execute(shell, command, streamingTimeoutSeconds, cancellationHandle, outputListener);
+    }
+
+    private CommandExecution execute(String shell, String command, long timeoutSeconds, CancellationHandle cancellationHandle, Consumer<String> outputListener) {
+        long start = System.currentTimeMillis();
+        Process process;
+        try {
+            process = new ProcessBuilder(shell, "-c", command).start();
+        } catch (IOException e) {
+            logger.error(String.format("execute: Command=%s. ", command) + e.getMessage(), e);
+            return new CommandExecution(String.format("Cannot execute command: %s. Error: %s", command, e.getMessage()), -1, false, false, false, System.currentTimeMillis() - start);
+        }
+
+        int maxOutputBytes = maxOutputMb * 1024 * 1024;
+        BoundedOutput stdout = new BoundedOutput(maxOutputBytes, outputListener);
+        BoundedOutput stderr = new BoundedOutput(maxOutputBytes, outputListener);
+        Runnable unregisterCancelAction = Objects.isNull(cancellationHandle) ? () -> {} : cancellationHandle.onCancel(() -> drainExecutor.submit(() -> destroy(process)));
+        Future<?> stdoutDrain = drainExecutor.submit(() -> drain(process, process.getInputStream(), stdout));
+        Future<?> stderrDrain = drainExecutor.submit(() -> drain(process, process.getErrorStream(), stderr));
+
+        boolean timedOut = false;
+        try {
+            if (timeoutSeconds > 0) {
+                timedOut = !process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+            } else {
+                process.waitFor();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        }
+        if (timedOut) {
+            destroy(process);
+        }
+        unregisterCancelAction.run();
+        awaitDrain(stdoutDrain, process.getInputStream(), command);
+        awaitDrain(stderrDrain, process.getErrorStream(), command);
+
+        String stdoutText = stdout.getText();
+        String stderrText = stderr.getText();
+        StringBuilder output = new StringBuilder(stdoutText.length() + stderrText.length() + 128).append(stdoutText).append(stderrText);
+        boolean truncated = stdout.isTruncated() || stderr.isTruncated();
+        if (truncated) {
+            output.append(String.format("%n... output is truncated to %d MB per stream.%n", maxOutputMb));
+        }
+        if (timedOut) {
+            output.append(String.format("%nCommand was killed after timeout of %d seconds.%n", timeoutSeconds));
+        }
+        boolean cancelled = Objects.nonNull(cancellationHandle) && cancellationHandle.isCancelled();
+        if (cancelled) {
+            output.append(String.format("%nCommand was stopped. %s%n", cancellationHandle.getCancelReason()));
+        }
+        int exitCode = timedOut ? -1 : process.exitValue();
+        CommandExecution execution = new CommandExecution(output.toString(), exitCode, timedOut, cancelled, truncated, System.currentTimeMillis() - start);
+        logger.debug("execute: Command={}. {}", command, execution);
+        return execution;
+    }
+
+    /**
+     * Reads stream into output. Blocking read on a pipe cannot be interrupted and children of the process can keep the pipe open,
+     * so only available bytes are read. After process exit, the stream is read until the first empty poll, later output of children is dropped.
+     */
+    private void drain(Process process, InputStream inputStream, BoundedOutput output) {
+        try (inputStream) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            boolean exited = false;
+            while (true) {
+                int available = inputStream.available();
+                if (available == 0) {
+                    if (exited) {
+                        break;
+                    }
+                    exited = !process.isAlive();
+                    Thread.sleep(OUTPUT_POLL_MILLIS);
+                    continue;
+                }
+                int read = inputStream.read(buffer, 0, Math.min(available, buffer.length));
+                if (read == -1) {
+                    break;
+                }
+                output.append(buffer, read);
+            }
+        } catch (IOException e) {
+            logger.debug("Command output stream is closed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for stream drain after process exit. Children of the process can keep stream open, so waiting is limited.
+     * Stream is closed first to fail the pending read, then drain is cancelled, so the drain thread is released.
+     */
+    private void awaitDrain(Future<?> drain, InputStream inputStream, String command) {
+        try {
+            drain.get(DRAIN_AFTER_EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            try {
+                inputStream.close();
+            } catch (IOException ioException) {
+                logger.debug("Cannot close command output stream: " + ioException.getMessage(), ioException);
+            }
+            drain.cancel(true);
+            logger.warn("Output of command is still open after process exit, reading is stopped: Command={}", command);
+        } catch (ExecutionException e) {
+            logger.error(String.format("awaitDrain: Command=%s. ", command) + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void destroy(Process process) {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+        try {
+            if (!process.waitFor(DESTROY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Output buffer with max size in bytes. Bytes over the limit are read and dropped, so process is not blocked on full pipe.
+     * Kept bytes are also decoded and passed to listener, if it is set. Bytes of character split between reads are decoded with next read.
+     */
+    private static class BoundedOutput {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxBytes;
+        private final Consumer<String> listener;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private byte[] undecoded = new byte[0];
+        private volatile boolean truncated;
+
+        private BoundedOutput(int maxBytes, Consumer<String> listener) {
+            this.maxBytes = maxBytes;
+            this.listener = listener;
+        }
+
+        private void append(byte[] chunk, int length) {
+            int kept;
+            synchronized (this) {
+                int free = maxBytes - bytes.size();
+                if (length > free) {
+                    truncated = true;
+                }
+                kept = Math.max(0, Math.min(free, length));
+                bytes.write(chunk, 0, kept);
+            }
+            if (kept > 0 && Objects.nonNull(listener)) {
+                try {
+                    listener.accept(decode(chunk, kept));
+                } catch (RuntimeException e) {
+                    logger.debug("Command output listener failed: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        /**
+         * Decodes chunk for listener. Called only from drain thread of the stream.
+         */
+        private String decode(byte[] chunk, int length) {
+            ByteBuffer input = ByteBuffer.allocate(undecoded.length + length).put(undecoded).put(chunk, 0, length);
+            input.flip();
+            CharBuffer chars = CharBuffer.allocate(input.remaining());
+            decoder.decode(input, chars, false);
+            undecoded = new byte[input.remaining()];
+            input.get(undecoded);
+            chars.flip();
+            return chars.toString();
+        }
+
+        private synchronized String getText() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
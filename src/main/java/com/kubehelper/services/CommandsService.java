@@ -17,15 +17,19 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.services;
 
-import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.io.Files;
 import com.kubehelper.common.Global;
 import com.kubehelper.common.Resource;
+import com.kubehelper.domain.core.CancellationHandle;
+import com.kubehelper.domain.core.CommandExecution;
+import com.kubehelper.domain.core.CommandRun;
+import com.kubehelper.domain.core.HistoryCursor;
+import com.kubehelper.domain.core.HistoryEntry;
+import com.kubehelper.domain.core.IndexedHistoryEntry;
 import com.kubehelper.domain.models.CommandsModel;
 import com.kubehelper.domain.results.CommandsResult;
 import com.kubehelper.domain.results.FileSourceResult;
 import com.moandjiezana.toml.Toml;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -34,29 +38,31 @@ import org.apache.commons.text.StringSubstitutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -72,7 +78,8 @@ public class CommandsService {
     private String historyEntryTemplate;
     private String newCommandsTemplate;
 
-    private KubernetesClient fabric8Client = new DefaultKubernetesClient();
+    @Autowired
+    private KubernetesClient fabric8Client;
 
     @Value("${kubehelper.predefined.commanmds.path}")
     private String predefinedCommandsPath;
@@ -86,6 +93,12 @@ public class CommandsService {
     @Value("${kubehelper.commanmds.history.path}")
     private String commandsHistoryPath;
 
+    @Value("${kubehelper.history.page.size}")
+    private int historyPageSize;
+
+    @Value("${kubehelper.history.search.max.results}")
+    private int historySearchMaxResults;
+
     @Value("${kubehelper.history.entry.template.src.path}")
     private String historyEntryTemplateSrcPath;
 
@@ -95,6 +108,19 @@ public class CommandsService {
     @Autowired
     private CommonService commonService;
 
+    @Autowired
+    private CommandExecutorService commandExecutorService;
+
+    @Autowired
+    private HistoryLogService historyLogService;
+
+    @Autowired
+    private HistorySearchIndexService historySearchIndexService;
+
+    @Autowired
+    @Qualifier("commandTaskExecutor")
+    private ThreadPoolTaskExecutor commandTaskExecutor;
+
     @PostConstruct
     private void postConstruct() {
         historyEntryTemplate = commonService.getClasspathResourceAsStringByPath(historyEntryTemplateSrcPath);
@@ -111,9 +137,38 @@ public class CommandsService {
      * @param commandsModel - commands model.
      */
     public void run(CommandsModel commandsModel) {
-        String commandOutput = commonService.executeCommand(commandsModel.getSelectedShell(), commandsModel.getCommandToExecute());
-        commandsModel.setExecutedCommandOutput(commandOutput);
-        writeCommandExecutionToHistory(commandsModel);
+        CommandExecution execution = commandExecutorService.execute(commandsModel.getSelectedShell(), commandsModel.getCommandToExecute());
+        commandsModel.setExecutedCommandOutput(execution.getOutput());
+        try {
+            writeCommandExecutionToHistory(commandsModel.getCommandToExecute(), execution.getOutput());
+        } catch (IOException e) {
+            commandsModel.addNotificationException("Cannot write command to execution: Error." + e.getMessage());
+            logger.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executes command in background thread and writes output to history file when command is finished or stopped.
+     * Model is not changed in background thread, history write error is returned with @{@link CommandRun}.
+     *
+     * @param commandsModel      - commands model. Shell and command are taken at start, output is not set to model.
+     * @param cancellationHandle - kills command process when cancelled.
+     * @param outputListener     - receives output chunks while command runs, called from reader threads.
+     * @return - future with @{@link CommandRun}.
+     */
+    public CompletableFuture<CommandRun> runAsync(CommandsModel commandsModel, CancellationHandle cancellationHandle, Consumer<String> outputListener) {
+        String shell = commandsModel.getSelectedShell();
+        String command = commandsModel.getCommandToExecute();
+        return CompletableFuture.supplyAsync(() -> {
+            CommandExecution execution = commandExecutorService.execute(shell, command, cancellationHandle, outputListener);
+            try {
+                writeCommandExecutionToHistory(command, execution.getOutput());
+            } catch (IOException e) {
+                logger.debug(e.getMessage(), e);
+                return new CommandRun(execution, e);
+            }
+            return new CommandRun(execution, null);
+        }, commandTaskExecutor);
     }
 
     /**
@@ -166,34 +221,28 @@ public class CommandsService {
 
 
     /**
-     * Writes execution result output to file.
+     * Appends execution result output to today's history file.
      *
-     * @param commandsModel - commands model.
+     * @param command - executed command.
+     * @param output  - command output.
+     * @throws IOException - if history file cannot be written.
      */
-    private void writeCommandExecutionToHistory(CommandsModel commandsModel) {
+    private void writeCommandExecutionToHistory(String command, String output) throws IOException {
         String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-        File file = new File(commandsHistoryPath + today + ".txt");
-        try {
-            file.createNewFile();
-            String composedHistoryEntry = new StringSubstitutor(buildHistoryEntry(commandsModel)).replace(historyEntryTemplate);
-            String fileContent = commonService.getResourceAsStringByPath(file.getPath());
-            fileContent = composedHistoryEntry + fileContent;
-            FileUtils.writeStringToFile(file, fileContent, StandardCharsets.UTF_8.toString());
-        } catch (IOException e) {
-            commandsModel.addNotificationException("Cannot write command to execution: Error." + e.getMessage());
-            logger.debug(e.getMessage(), e);
-        }
+        String composedHistoryEntry = new StringSubstitutor(buildHistoryEntry(command, output)).replace(historyEntryTemplate);
+        historyLogService.append(commandsHistoryPath + today + ".txt", composedHistoryEntry);
     }
 
     /**
-     * Builds history entry from commands model for replacement in template.
+     * Builds history entry for replacement in template.
      *
-     * @param model - commands model.
+     * @param command - executed command.
+     * @param output  - command output.
      * @return - map with history entry
      */
-    private Map<String, String> buildHistoryEntry(CommandsModel model) {
+    private Map<String, String> buildHistoryEntry(String command, String output) {
         String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss yyyy-MM-dd"));
-        return Map.of("time", time, "command", model.getCommandToExecute(), "output", model.getExecutedCommandOutput());
+        return Map.of("time", time, "command", command, "output", output);
     }
 
 
@@ -397,7 +446,7 @@ public class CommandsService {
             commandsModel.sortMapByDateDesc();
             Optional<Map.Entry<String, FileSourceResult>> first = commandsModel.getCommandsHistories().entrySet().stream().findFirst();
             if (first.isPresent()) {
-                commandsModel.setSelectedCommandsHistoryRaw(commonService.getResourceAsStringByPath(first.get().getValue().getFilePath()));
+                startHistory(commandsModel, List.of(first.get().getValue().getFilePath()), false);
                 commandsModel.setSelectedCommandsHistoryLabel(first.get().getKey());
             }
         } catch (IOException e) {
@@ -418,7 +467,7 @@ public class CommandsService {
             case "This Month" -> showHistoryFor(cm, today.with(TemporalAdjusters.firstDayOfMonth()), today);
             case "This Year" -> showHistoryFor(cm, today.with(TemporalAdjusters.firstDayOfYear()), today);
             case "All" -> showHistoryFor(cm, LocalDate.now().minusMonths(200), today);
-            default -> cm.setSelectedCommandsHistoryRaw(commonService.getResourceAsStringByPath(cm.getCommandsHistories().get(cm.getSelectedCommandsHistoryLabel()).getFilePath()));
+            default -> startHistory(cm, List.of(cm.getCommandsHistories().get(cm.getSelectedCommandsHistoryLabel()).getFilePath()), false);
         }
     }
 
@@ -430,8 +479,6 @@ public class CommandsService {
      * @param to   - to date.
      */
     private void showHistoryFor(CommandsModel cm, LocalDate from, LocalDate to) {
-        StringBuilder history = new StringBuilder();
-        String historyDayHeader = "++++++++++++++++++++++++++++++++++++++++=== %s ===++++++++++++++++++++++++++++++++++++++++\n\n\n";
         Set<String> filesPathsByDirAndExtension = new HashSet<>();
 
         //get all history files
@@ -441,51 +488,96 @@ public class CommandsService {
             logger.debug(e.getMessage(), e);
         }
 
-        //get dates range and filter files paths depends of range
-        List<LocalDate> datesRange = from.datesUntil(to.plusDays(1)).collect(Collectors.toList());
-        Set<String> datesInRange = filesPathsByDirAndExtension.stream()
-                .filter(filePath -> datesRange.contains(LocalDate.parse(Files.getNameWithoutExtension(filePath))))
-                .collect(Collectors.toSet());
+        //filter files paths depends of range and sort history DESC
+        List<String> datesInRangeFilePaths = filesPathsByDirAndExtension.stream()
+                .filter(filePath -> {
+                    LocalDate date = LocalDate.parse(Files.getNameWithoutExtension(filePath), DateTimeFormatter.ISO_LOCAL_DATE);
+                    return !date.isBefore(from) && !date.isAfter(to);
+                })
+                .sorted(Comparator.comparing((String filePath) -> Files.getNameWithoutExtension(filePath)).reversed())
+                .collect(Collectors.toList());
+        startHistory(cm, datesInRangeFilePaths, true);
+    }
+
+    /**
+     * Starts newest-first reading of history files and loads first page.
+     *
+     * @param cm             - commands model.
+     * @param filePaths      - history files, newest first.
+     * @param withDayHeaders - adds day header before entries of each file.
+     */
+    private void startHistory(CommandsModel cm, List<String> filePaths, boolean withDayHeaders) {
+        cm.setHistoryCursor(new HistoryCursor(filePaths))
+                .setHistoryEntries(new ArrayList<>())
+                .setHistoryWithDayHeaders(withDayHeaders)
+                .setHistoryRenderedDay(null)
+                .setSelectedCommandsHistoryRaw("");
+        loadMoreHistory(cm);
+    }
 
-        //sort history DESC
-        ImmutableSortedSet<String> sortedDatesInRangeFilePaths = ImmutableSortedSet.copyOf(
-                Comparator.comparing(filePath -> LocalDate.parse(Files.getNameWithoutExtension(filePath), DateTimeFormatter.ISO_LOCAL_DATE), Comparator.reverseOrder()), datesInRange);
+    /**
+     * Loads next page of history entries and appends it to history output. Already rendered entries are not rendered again.
+     *
+     * @param cm - commands model.
+     * @return - rendered page, appended to history output.
+     */
+    public String loadMoreHistory(CommandsModel cm) {
+        List<HistoryEntry> page = historyLogService.readPage(cm.getHistoryCursor(), historyPageSize);
+        cm.getHistoryEntries().addAll(page);
+        String renderedPage = renderHistory(cm, page);
+        cm.appendToSelectedCommandsHistoryRaw(renderedPage);
+        return renderedPage;
+    }
+
+    /**
+     * Renders history entries, continuing after last rendered day. Only header and command of each entry are shown, if only commands are selected.
+     *
+     * @param cm      - commands model.
+     * @param entries - entries to render.
+     * @return - rendered entries.
+     */
+    private String renderHistory(CommandsModel cm, List<HistoryEntry> entries) {
+        String historyDayHeader = "++++++++++++++++++++++++++++++++++++++++=== %s ===++++++++++++++++++++++++++++++++++++++++\n\n\n";
+        StringBuilder history = new StringBuilder();
+        for (HistoryEntry entry : entries) {
+            if (cm.isHistoryWithDayHeaders() && !entry.getDay().equals(cm.getHistoryRenderedDay())) {
+                history.append(Objects.isNull(cm.getHistoryRenderedDay()) ? "" : "\n").append(String.format(historyDayHeader, entry.getDay()));
+                cm.setHistoryRenderedDay(entry.getDay());
+            }
+            history.append(cm.isShowOnlyCommandsInHistory() ? entry.getHeaderWithCommand() : entry.getRaw());
+        }
+        return history.toString();
+    }
 
-        //add filtered history to history string builder
-        for (String filePath : sortedDatesInRangeFilePaths) {
-            history.append(String.format(historyDayHeader, Files.getNameWithoutExtension(filePath))).append(commonService.getResourceAsStringByPath(filePath)).append("\n");
+    /**
+     * Searches commands history with full text index and shows found entries, newest first.
+     * Message is shown instead, while index is building.
+     *
+     * @param cm - commands model.
+     */
+    public void searchHistory(CommandsModel cm) {
+        if (!historySearchIndexService.isBuilt()) {
+            cm.setHistoryCursor(new HistoryCursor(List.of()))
+                    .setHistoryEntries(new ArrayList<>())
+                    .setSelectedCommandsHistoryRaw(String.format("Search index is building, please try again in a few seconds.%n"));
+            return;
         }
-        cm.setSelectedCommandsHistoryRaw(history.toString());
+        List<IndexedHistoryEntry> found = historySearchIndexService.search(cm.getHistorySearchQuery(), IndexedHistoryEntry.Source.COMMANDS, historySearchMaxResults);
+        StringBuilder history = new StringBuilder(String.format("Found %d entries for '%s'.%n%n%n", found.size(), cm.getHistorySearchQuery()));
+        found.forEach(entry -> history.append(entry.getSearchResultText()));
+        cm.setHistoryCursor(new HistoryCursor(List.of()))
+                .setHistoryEntries(new ArrayList<>())
+                .setSelectedCommandsHistoryRaw(history.toString());
     }
 
     /**
-     * Filters only commands from file for history output. Or vice versa.
+     * Shows only commands of loaded history entries. Or vice versa.
      *
      * @param commandsModel - commands model.
      * @param show          - state. If true then only commands will be shown.
      */
     public void showOnlyCommandsInHistory(CommandsModel commandsModel, boolean show) {
-        if (show) {
-            commandsModel.setCommandsRawHistoryBuffer(commandsModel.getSelectedCommandsHistoryRaw());
-            List<String> lines = new ArrayList<>(Arrays.asList(commandsModel.getSelectedCommandsHistoryRaw().split("\n")));
-            Iterator<String> iterator = lines.iterator();
-            boolean lineToRemove = false;
-            while (iterator.hasNext()) {
-                String next = iterator.next();
-                if (next.contains("===========")) {
-                    lineToRemove = false;
-                }
-                if (next.equals("************************************************************************************************************") || lineToRemove) {
-                    if (next.contains("++++++++++++++++++++++++++++++++++++++++===")) {
-                        continue;
-                    }
-                    iterator.remove();
-                    lineToRemove = true;
-                }
-            }
-            commandsModel.setSelectedCommandsHistoryRaw(String.join("\n", lines));
-        } else {
-            commandsModel.setSelectedCommandsHistoryRaw(commandsModel.getCommandsRawHistoryBuffer());
-        }
+        commandsModel.setShowOnlyCommandsInHistory(show).setHistoryRenderedDay(null);
+        commandsModel.setSelectedCommandsHistoryRaw(renderHistory(commandsModel, commandsModel.getHistoryEntries()));
     }
 }
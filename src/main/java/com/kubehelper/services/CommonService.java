@@ -17,7 +17,9 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.kubehelper.common.Global;
 import com.kubehelper.common.Resource;
 import com.kubehelper.configs.KubeHelperCache;
@@ -28,10 +30,9 @@ import com.kubehelper.domain.models.PageModel;
 import com.kubehelper.domain.results.CronJobResult;
 import com.moandjiezana.toml.TomlWriter;
 import io.fabric8.kubernetes.api.model.HasMetadata;
-import io.fabric8.kubernetes.api.model.KubernetesResource;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.internal.SerializationUtils;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1NamespaceList;
@@ -49,13 +50,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.FileCopyUtils;
 import org.zkoss.zul.Messagebox;
 
-import java.io.BufferedReader;
+import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -64,7 +62,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -78,12 +79,11 @@ public class CommonService {
 
     private static Logger logger = LoggerFactory.getLogger(CommonService.class);
 
-    private KubernetesClient fabric8Client = new DefaultKubernetesClient();
+    @Autowired
+    private KubernetesClient fabric8Client;
 
     private TomlWriter tomlWriter = new TomlWriter.Builder().indentValuesBy(2).indentTablesBy(4).build();
 
-    private ProcessBuilder processBuilder = new ProcessBuilder();
-
     @Autowired
     private CoreV1Api api;
 
@@ -108,6 +108,22 @@ public class CommonService {
     @Value("${kubehelper.cron.jobs.reports.path}")
     private String cronJobsReportsPath;
 
+    @Value("${kubehelper.raw.resources.cache.ttl.seconds}")
+    private long rawResourcesCacheTtlSeconds;
+
+    @Value("${kubehelper.raw.resources.cache.size}")
+    private long rawResourcesCacheSize;
+
+    private Cache<String, Optional<HasMetadata>> rawResourcesCache;
+
+    private Cache<String, String> serializedResourcesCache;
+
+    @PostConstruct
+    private void postConstruct() {
+        rawResourcesCache = CacheBuilder.newBuilder().maximumSize(rawResourcesCacheSize).expireAfterWrite(rawResourcesCacheTtlSeconds, TimeUnit.SECONDS).build();
+        serializedResourcesCache = CacheBuilder.newBuilder().maximumSize(rawResourcesCacheSize).expireAfterAccess(rawResourcesCacheTtlSeconds, TimeUnit.SECONDS).build();
+    }
+
 
     /**
      * Gets all namespaces plus all namespaces as choice in namespaces combobox.
@@ -212,119 +228,105 @@ public class CommonService {
 
 
     /**
-     * Gets Kubernetes resource by KubeHelper Resource and resource name.
+     * Gets Kubernetes resource by KubeHelper Resource, namespace and resource name with direct GET request.
+     * Found resources are cached for {@code rawResourcesCacheTtlSeconds}, so switching between raw views does not repeat requests.
      * <p>
      * KUBE_HELPER_POD_SECURITY_CONTEXT, KUBE_HELPER_CONTAINER_SECURITY_CONTEXT and other resources that do not implements Interface @{@link HasMetadata} cannot be converted in Yaml.
      *
      * @param resource     - {@link Resource}
+     * @param namespace    - namespace. Ignored for cluster scoped resources. Client namespace is used if namespace is empty or N/A.
      * @param resourceName - resource name.
-     * @return - Found {@link KubernetesResource}
+     * @return - Found {@link HasMetadata} or null.
      */
-    private KubernetesResource getHasMetadata(Resource resource, String resourceName) {
-        KubernetesResource meta = null;
+    private HasMetadata getHasMetadata(Resource resource, String namespace, String resourceName) {
+        String ns = (StringUtils.isBlank(namespace) || "N/A".equals(namespace)) ? Objects.requireNonNullElse(fabric8Client.getNamespace(), "default") : namespace;
         try {
-            switch (resource) {
-                case CONFIG_MAP -> meta = fabric8Client.configMaps().list().getItems().stream().filter(map -> resourceName.equals(map.getMetadata().getName())).findFirst().get();
-                case EVENT -> meta = fabric8Client.v1().events().list().getItems().stream().filter(event -> resourceName.equals(event.getMetadata().getName())).findFirst().get();
-                case NAMESPACE -> meta = fabric8Client.namespaces().list().getItems().stream().filter(ns -> resourceName.equals(ns.getMetadata().getName())).findFirst().get();
-                case PERSISTENT_VOLUME_CLAIM -> meta = fabric8Client.persistentVolumeClaims().list().getItems().stream().filter(pvc -> resourceName.equals(pvc.getMetadata().getName())).findFirst().get();
-                case PERSISTENT_VOLUME -> meta = fabric8Client.persistentVolumes().list().getItems().stream().filter(pv -> resourceName.equals(pv.getMetadata().getName())).findFirst().get();
-                case POD -> meta = fabric8Client.pods().list().getItems().stream().filter(pod -> resourceName.equals(pod.getMetadata().getName())).findFirst().get();
-                case SECRET -> meta = fabric8Client.secrets().list().getItems().stream().filter(secret -> resourceName.equals(secret.getMetadata().getName())).findFirst().get();
-                case SERVICE_ACCOUNT -> meta = fabric8Client.serviceAccounts().list().getItems().stream().filter(sa -> resourceName.equals(sa.getMetadata().getName())).findFirst().get();
-                case SERVICE -> meta = fabric8Client.services().list().getItems().stream().filter(svc -> resourceName.equals(svc.getMetadata().getName())).findFirst().get();
-                case DAEMON_SET -> meta = fabric8Client.apps().daemonSets().list().getItems().stream().filter(ds -> resourceName.equals(ds.getMetadata().getName())).findFirst().get();
-                case DEPLOYMENT -> meta = fabric8Client.apps().deployments().list().getItems().stream().filter(d -> resourceName.equals(d.getMetadata().getName())).findFirst().get();
-                case REPLICA_SET -> meta = fabric8Client.apps().replicaSets().list().getItems().stream().filter(rs -> resourceName.equals(rs.getMetadata().getName())).findFirst().get();
-                case STATEFUL_SET -> meta = fabric8Client.apps().statefulSets().list().getItems().stream().filter(ss -> resourceName.equals(ss.getMetadata().getName())).findFirst().get();
-                case JOB -> meta = fabric8Client.batch().jobs().list().getItems().stream().filter(job -> resourceName.equals(job.getMetadata().getName())).findFirst().get();
-                case NETWORK_POLICY -> meta = fabric8Client.network().networkPolicies().list().getItems().stream().filter(p -> resourceName.equals(p.getMetadata().getName())).findFirst().get();
-                case POD_DISRUPTION_BUDGET -> meta = fabric8Client.policy().podDisruptionBudget().list().getItems().stream().filter(p -> resourceName.equals(p.getMetadata().getName())).findFirst().get();
-                case POD_SECURITY_POLICY -> meta = fabric8Client.policy().podSecurityPolicies().list().getItems().stream().filter(p -> resourceName.equals(p.getMetadata().getName())).findFirst().get();
-                case CLUSTER_ROLE_BINDING -> meta = fabric8Client.rbac().clusterRoleBindings().list().getItems().stream().filter(crb -> resourceName.equals(crb.getMetadata().getName())).findFirst().get();
-                case CLUSTER_ROLE -> meta = fabric8Client.rbac().clusterRoles().list().getItems().stream().filter(cr -> resourceName.equals(cr.getMetadata().getName())).findFirst().get();
-                case ROLE_BINDING -> meta = fabric8Client.rbac().clusterRoleBindings().list().getItems().stream().filter(rb -> resourceName.equals(rb.getMetadata().getName())).findFirst().get();
-                case ROLE -> meta = fabric8Client.rbac().roles().list().getItems().stream().filter(role -> resourceName.equals(role.getMetadata().getName())).findFirst().get();
-                case STORAGE_CLASS -> meta = fabric8Client.storage().storageClasses().list().getItems().stream().filter(sc -> resourceName.equals(sc.getMetadata().getName())).findFirst().get();
-            }
-        } catch (RuntimeException e) {
+            return rawResourcesCache.get(String.join("/", resource.name(), ns, resourceName), () -> Optional.ofNullable(getHasMetadataFromApi(resource, ns, resourceName))).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
             if (logger.isDebugEnabled()) {
-                logger.error(String.format("getHasMetadata: Resource=%s, resourceName=%s", resource.getKind(), resourceName) + e.getMessage(), e);
+                logger.error(String.format("getHasMetadata: Resource=%s, namespace=%s, resourceName=%s", resource.getKind(), ns, resourceName) + e.getMessage(), e);
             }
         }
-        return meta;
+        return null;
     }
 
+    private HasMetadata getHasMetadataFromApi(Resource resource, String namespace, String resourceName) {
+        return switch (resource) {
+            case CONFIG_MAP -> fabric8Client.configMaps().inNamespace(namespace).withName(resourceName).get();
+            case EVENT -> fabric8Client.v1().events().inNamespace(namespace).withName(resourceName).get();
+            case NAMESPACE -> fabric8Client.namespaces().withName(resourceName).get();
+            case PERSISTENT_VOLUME_CLAIM -> fabric8Client.persistentVolumeClaims().inNamespace(namespace).withName(resourceName).get();
+            case PERSISTENT_VOLUME -> fabric8Client.persistentVolumes().withName(resourceName).get();
+            case POD -> fabric8Client.pods().inNamespace(namespace).withName(resourceName).get();
+            case SECRET -> fabric8Client.secrets().inNamespace(namespace).withName(resourceName).get();
+            case SERVICE_ACCOUNT -> fabric8Client.serviceAccounts().inNamespace(namespace).withName(resourceName).get();
+            case SERVICE -> fabric8Client.services().inNamespace(namespace).withName(resourceName).get();
+            case DAEMON_SET -> fabric8Client.apps().daemonSets().inNamespace(namespace).withName(resourceName).get();
+            case DEPLOYMENT -> fabric8Client.apps().deployments().inNamespace(namespace).withName(resourceName).get();
+            case REPLICA_SET -> fabric8Client.apps().replicaSets().inNamespace(namespace).withName(resourceName).get();
+            case STATEFUL_SET -> fabric8Client.apps().statefulSets().inNamespace(namespace).withName(resourceName).get();
+            case JOB -> fabric8Client.batch().jobs().inNamespace(namespace).withName(resourceName).get();
+            case NETWORK_POLICY -> fabric8Client.network().networkPolicies().inNamespace(namespace).withName(resourceName).get();
+            case POD_DISRUPTION_BUDGET -> fabric8Client.policy().podDisruptionBudget().inNamespace(namespace).withName(resourceName).get();
+            case POD_SECURITY_POLICY -> fabric8Client.policy().podSecurityPolicies().withName(resourceName).get();
+            case CLUSTER_ROLE_BINDING -> fabric8Client.rbac().clusterRoleBindings().withName(resourceName).get();
+            case CLUSTER_ROLE -> fabric8Client.rbac().clusterRoles().withName(resourceName).get();
+            case ROLE_BINDING -> fabric8Client.rbac().roleBindings().inNamespace(namespace).withName(resourceName).get();
+            case ROLE -> fabric8Client.rbac().roles().inNamespace(namespace).withName(resourceName).get();
+            case STORAGE_CLASS -> fabric8Client.storage().storageClasses().withName(resourceName).get();
+            default -> null;
+        };
+    }
 
     /**
-     * Gets Kubernetes resource as Yaml string by KubeHelper Resource and resource name.
+     * Gets Kubernetes resource as Yaml string by KubeHelper Resource, resource name and namespace.
      *
      * @param resource     - {@link Resource}
      * @param resourceName - resource name.
+     * @param namespace    - namespace.
      * @return - Kubernetes resource as Yaml String.
      */
-    public String getYamlResource(Resource resource, String resourceName) {
-        KubernetesResource found = getHasMetadata(resource, resourceName);
-        if (Objects.nonNull(found)) {
-            try {
-                return SerializationUtils.dumpAsYaml((HasMetadata) found);
-            } catch (JsonProcessingException e) {
-                logger.error(String.format("getYamlResource: Resource=%s, resourceName=%s", resource.getKind(), resourceName) + e.getMessage(), e);
-            }
-        }
-        return "";
+    public String getYamlResource(Resource resource, String resourceName, String namespace) {
+        return getSerializedResource(resource, resourceName, namespace, "yaml");
     }
 
     /**
      * Gets Kubernetes resource as Json string by KubeHelper Resource, resource name and namespace.
+     * Json is rendered in-process from the same object as Yaml, without kubectl.
      *
      * @param resource     - {@link Resource}
      * @param resourceName - resource name.
      * @param namespace    - namespace.
-     * @return - Kubernetes resource as Yaml String.
+     * @return - Kubernetes resource as Json String.
      */
     public String getJsonResource(Resource resource, String resourceName, String namespace) {
-        namespace = (StringUtils.isBlank(namespace) || "N/A".equals(namespace)) ? "" : "--namespace=" + namespace;
-        String command = String.format("kubectl get %s %s %s -ojson", resource.getName(), resourceName, namespace);
-        return executeCommand("bash", command);
+        return getSerializedResource(resource, resourceName, namespace, "json");
     }
 
     /**
-     * Executes kubectl command from shell.
+     * Serializes Kubernetes resource to yaml or json. Result is cached by format, resource uid and resourceVersion, so unchanged resource is serialized only once per format.
      *
-     * @param shell   - shell type.
-     * @param command - command to execute.
-     * @return - inputStream and errorStream as String.
+     * @param resource     - {@link Resource}
+     * @param resourceName - resource name.
+     * @param namespace    - namespace.
+     * @param format       - yaml or json.
+     * @return - serialized resource or empty string if resource was not found.
      */
-    public String executeCommand(String shell, String command) {
-        String result = "";
-        processBuilder.command(shell, "-c", command);
-        Process process;
-        try {
-            process = processBuilder.start();
-            result = readOutput(new SequenceInputStream(process.getInputStream(), process.getErrorStream()));
-        } catch (IOException e) {
-            if (logger.isDebugEnabled()) {
-                logger.error(String.format("executeCommand: Command=%s", command) + e.getMessage(), e);
+    private String getSerializedResource(Resource resource, String resourceName, String namespace, String format) {
+        HasMetadata found = getHasMetadata(resource, namespace, resourceName);
+        if (Objects.nonNull(found)) {
+            String key = String.join(":", format, found.getMetadata().getUid(), found.getMetadata().getResourceVersion());
+            try {
+                return serializedResourcesCache.get(key, () -> "json".equals(format) ?
+                        Serialization.jsonMapper().writerWithDefaultPrettyPrinter().writeValueAsString(found) :
+                        SerializationUtils.dumpAsYaml(found));
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                logger.error(String.format("getSerializedResource: Resource=%s, resourceName=%s, format=%s", resource.getKind(), resourceName, format) + e.getMessage(), e);
             }
         }
-        return result;
-    }
-
-    /**
-     * Reaads data from stream to lines and then to string.
-     *
-     * @param inputStream - inputStream and errorStream
-     * @return - readed string.
-     * @throws IOException - IOException
-     */
-    private String readOutput(InputStream inputStream) throws IOException {
-        try (BufferedReader output = new BufferedReader(new InputStreamReader(inputStream))) {
-            return output.lines().map(line -> line = line + "\n").reduce("", String::concat);
-        }
+        return "";
     }
 
-
     /**
      * Checks, creates and search for config.
      * 1. Searches for custom kubehelper config. If not found then.
@@ -19,6 +19,7 @@ package com.kubehelper.services;
 
 import com.google.common.io.Files;
 import com.kubehelper.common.Global;
+import com.kubehelper.domain.core.IndexedHistoryEntry;
 import com.kubehelper.domain.models.CronJobsModel;
 import com.kubehelper.domain.results.CommandsResult;
 import com.kubehelper.domain.results.CronJobResult;
@@ -69,6 +70,15 @@ public class CronJobsService {
     @Autowired
     private SchedulerService schedulerService;
 
+    @Autowired
+    private HistoryLogService historyLogService;
+
+    @Autowired
+    private HistorySearchIndexService historySearchIndexService;
+
+    @Value("${kubehelper.history.search.max.results}")
+    private int historySearchMaxResults;
+
 
     //  CRON JOBS ================
 
@@ -263,7 +273,7 @@ public class CronJobsService {
         //set first active
         Optional<Map.Entry<String, FileSourceResult>> first = model.getCronJobsReports().entrySet().stream().findFirst();
         if (first.isPresent()) {
-            model.setSelectedReportRaw(commonService.getResourceAsStringByPath(first.get().getValue().getFilePath()));
+            model.setSelectedReportRaw(historyLogService.readNewestFirst(first.get().getValue().getFilePath()));
             model.setSelectedReportLabel(first.get().getKey());
         }
     }
@@ -274,6 +284,23 @@ public class CronJobsService {
      * @param model - @{@link CronJobsModel}
      */
     public void changeReportRaw(CronJobsModel model) {
-        model.setSelectedReportRaw(commonService.getResourceAsStringByPath(model.getCronJobsReports().get(model.getSelectedReportLabel()).getFilePath()));
+        model.setSelectedReportRaw(historyLogService.readNewestFirst(model.getCronJobsReports().get(model.getSelectedReportLabel()).getFilePath()));
+    }
+
+    /**
+     * Searches cron jobs reports of all jobs with full text index and shows found entries, newest first.
+     * Message is shown instead, while index is building.
+     *
+     * @param model - @{@link CronJobsModel}
+     */
+    public void searchReports(CronJobsModel model) {
+        if (!historySearchIndexService.isBuilt()) {
+            model.setSelectedReportRaw(String.format("Search index is building, please try again in a few seconds.%n"));
+            return;
+        }
+        List<IndexedHistoryEntry> found = historySearchIndexService.search(model.getReportsSearchQuery(), IndexedHistoryEntry.Source.REPORTS, historySearchMaxResults);
+        StringBuilder reports = new StringBuilder(String.format("Found %d entries for '%s'.%n%n%n", found.size(), model.getReportsSearchQuery()));
+        found.forEach(entry -> reports.append(entry.getSearchResultText()));
+        model.setSelectedReportRaw(reports.toString());
     }
 }
@@ -26,12 +26,12 @@ import io.fabric8.kubernetes.api.model.NodeCondition;
 import io.fabric8.kubernetes.api.model.NodeList;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Taint;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -47,6 +47,9 @@ public class DashboardService {
 
     private static Logger logger = LoggerFactory.getLogger(DashboardService.class);
 
+    @Autowired
+    private KubernetesClient fabric8Client;
+
     /**
      * get cluster and nodes info.
      *
@@ -57,12 +60,12 @@ public class DashboardService {
         dashboardModel.getNodesResults().clear();
         ClusterResult clusterResult = new ClusterResult();
 
-        try (KubernetesClient client = new DefaultKubernetesClient()) {
+        try {
 
-            NodeList nodesList = client.nodes().list();
+            NodeList nodesList = fabric8Client.nodes().list();
             clusterResult.setTotalNodes(nodesList.getItems().size());
 
-            clusterResult.setTotalPods(client.pods().inAnyNamespace().list().getItems().size());
+            clusterResult.setTotalPods(fabric8Client.pods().inAnyNamespace().list().getItems().size());
 
             nodesList.getItems().forEach(node -> {
                 NodeResult nodeResult = new NodeResult(dashboardModel.getNodesResults().size() + 1)
@@ -0,0 +1,373 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.services;
+
+import com.kubehelper.domain.core.HistoryCursor;
+import com.kubehelper.domain.core.HistoryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Append-only writer and newest-first reader of daily commands history and cron jobs reports files.
+ * <p>
+ * Entries are appended to the end of data file, start offset of each entry is appended to sidecar index file (same name with .idx extension) as 8 bytes.
+ * So write cost does not depend on file size, and newest-first view is read from the end of file by offsets.
+ * Files are forced to disk in batches with fixed period, not after each entry.
+ * <p>
+ * Files written before index was introduced have newest entries first and no index, they are read as one entry, which is the oldest one.
+ *
+ * @author JDev
+ */
+@Service
+public class HistoryLogService {
+
+    private static Logger logger = LoggerFactory.getLogger(HistoryLogService.class);
+
+    public static final String INDEX_FILE_EXTENSION = ".idx";
+    private static final int OFFSET_BYTES = Long.BYTES;
+
+    @Value("${kubehelper.history.log.fsync.period.millis}")
+    private long fsyncPeriodMillis;
+
+    @Autowired
+    @Qualifier("watchdogTaskScheduler")
+    private ThreadPoolTaskScheduler watchdogTaskScheduler;
+
+    /**
+     * Open log files by data file path. Guarded by itself, writes are short and rare, so one lock is enough.
+     */
+    private final Map<Path, LogFile> logFiles = new HashMap<>();
+
+    private final List<Consumer<String>> appendListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    private void postConstruct() {
+        watchdogTaskScheduler.scheduleWithFixedDelay(this::syncLogFiles, Duration.ofMillis(fsyncPeriodMillis));
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        synchronized (logFiles) {
+            logFiles.values().forEach(LogFile::close);
+            logFiles.clear();
+        }
+    }
+
+    /**
+     * Appends entry to the end of log file and its index. Missing folders and files are created.
+     *
+     * @param filePath - path to data file.
+     * @param entry    - entry text.
+     * @throws IOException - if file cannot be written.
+     */
+    public void append(String filePath, String entry) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+        synchronized (logFiles) {
+            LogFile logFile = logFiles.get(path);
+            if (logFile == null) {
+                logFile = LogFile.open(path);
+                logFiles.put(path, logFile);
+            }
+            try {
+                logFile.append(bytes);
+            } catch (IOException e) {
+                logFiles.remove(path).close();
+                throw e;
+            }
+        }
+        appendListeners.forEach(listener -> listener.accept(path.toString()));
+    }
+
+    /**
+     * Registers listener, which is notified with data file path after each appended entry.
+     *
+     * @param listener - append listener.
+     */
+    public void addAppendListener(Consumer<String> listener) {
+        appendListeners.add(listener);
+    }
+
+    /**
+     * Reads entries in write order, which start at or after offset.
+     *
+     * @param filePath   - path to data file.
+     * @param fromOffset - offset of first entry to read, 0 - from start.
+     * @param consumer   - consumer of read entries.
+     * @return - offset after last read entry, next reading should start from it.
+     * @throws IOException - if file cannot be read.
+     */
+    public long readEntriesFrom(String filePath, long fromOffset, Consumer<HistoryEntry> consumer) throws IOException {
+        Path path = Paths.get(filePath);
+        String day = getBaseName(path);
+        long size;
+        long[] offsets;
+        //data and index are appended under the same lock, so size and offsets read under it are consistent
+        synchronized (logFiles) {
+            size = Files.size(path);
+            offsets = readOffsets(getIndexPath(path), size);
+        }
+        try (FileChannel data = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < offsets.length; i++) {
+                if (offsets[i] < fromOffset) {
+                    continue;
+                }
+                long end = i + 1 < offsets.length ? offsets[i + 1] : size;
+                HistoryEntry.parse(day, readEntry(data, offsets[i], end)).forEach(consumer);
+            }
+        }
+        return Math.max(size, fromOffset);
+    }
+
+    /**
+     * Reads all entries of log file, newest first.
+     *
+     * @param filePath - path to data file.
+     * @return - entries joined to string, empty string if file cannot be read.
+     */
+    public String readNewestFirst(String filePath) {
+        Path path = Paths.get(filePath);
+        try (FileChannel data = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = data.size();
+            long[] offsets = readOffsets(getIndexPath(path), size);
+            StringBuilder entries = new StringBuilder((int) Math.min(size, Integer.MAX_VALUE - 8));
+            long end = size;
+            for (int i = offsets.length - 1; i >= 0; i--) {
+                entries.append(readEntry(data, offsets[i], end));
+                end = offsets[i];
+            }
+            return entries.toString();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+        return "";
+    }
+
+    /**
+     * Reads next page of entries, newest first, from cursor position. Only entries of the page are read from disk.
+     * Entry of file written before offset index can contain several entries, they all are returned in one page.
+     *
+     * @param cursor - reading position, moved to the end of page.
+     * @param limit  - max entries in page.
+     * @return - entries of page.
+     */
+    public List<HistoryEntry> readPage(HistoryCursor cursor, int limit) {
+        List<HistoryEntry> page = new ArrayList<>();
+        while (page.size() < limit && cursor.hasMore()) {
+            Path path = Paths.get(cursor.getFilePath());
+            String day = getBaseName(path);
+            try (FileChannel data = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (!cursor.isFileOpened()) {
+                    long size = data.size();
+                    cursor.openFile(readOffsets(getIndexPath(path), size), size);
+                }
+                while (page.size() < limit && cursor.hasPreviousChunk()) {
+                    long[] chunk = cursor.previousChunk();
+                    page.addAll(HistoryEntry.parse(day, readEntry(data, chunk[0], chunk[1])));
+                }
+            } catch (IOException e) {
+                logger.error(e.getMessage(), e);
+                cursor.nextFile();
+                continue;
+            }
+            if (!cursor.hasPreviousChunk()) {
+                cursor.nextFile();
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Forces written entries to disk and closes files, which were not written since previous sync.
+     */
+    private void syncLogFiles() {
+        synchronized (logFiles) {
+            Iterator<LogFile> iterator = logFiles.values().iterator();
+            while (iterator.hasNext()) {
+                LogFile logFile = iterator.next();
+                if (!logFile.dirty) {
+                    logFile.close();
+                    iterator.remove();
+                    continue;
+                }
+                try {
+                    logFile.force();
+                } catch (IOException e) {
+                    logger.error(e.getMessage(), e);
+                    logFile.close();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads entries start offsets from index. Offsets beyond data size (entry was not written completely) are dropped.
+     * Data without index is one entry.
+     *
+     * @param indexPath - path to index file.
+     * @param dataSize  - size of data file.
+     * @return - entries start offsets in write order.
+     * @throws IOException - if index cannot be read.
+     */
+    private static long[] readOffsets(Path indexPath, long dataSize) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return dataSize > 0 ? new long[]{0} : new long[0];
+        }
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        long[] offsets = new long[index.remaining() / OFFSET_BYTES];
+        int count = 0;
+        while (index.remaining() >= OFFSET_BYTES) {
+            long offset = index.getLong();
+            if (offset >= dataSize) {
+                break;
+            }
+            offsets[count++] = offset;
+        }
+        if (count == 0 && dataSize > 0) {
+            return new long[]{0};
+        }
+        return count == offsets.length ? offsets : Arrays.copyOf(offsets, count);
+    }
+
+    private static String readEntry(FileChannel data, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        long position = from;
+        while (buffer.hasRemaining()) {
+            int read = data.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private static Path getIndexPath(Path dataPath) {
+        return dataPath.resolveSibling(getBaseName(dataPath) + INDEX_FILE_EXTENSION);
+    }
+
+    private static String getBaseName(Path path) {
+        String fileName = path.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+    }
+
+    /**
+     * Open data and index channels of one log file.
+     */
+    private static class LogFile {
+
+        private final Path path;
+        private final FileChannel data;
+        private final FileChannel index;
+        private long size;
+        private boolean dirty;
+
+        private LogFile(Path path, FileChannel data, FileChannel index, long size) {
+            this.path = path;
+            this.data = data;
+            this.index = index;
+            this.size = size;
+        }
+
+        /**
+         * Opens log file for append. If data exists without index (file written before index was introduced), existing data is indexed as one entry.
+         */
+        private static LogFile open(Path path) throws IOException {
+            Files.createDirectories(path.getParent());
+            Path indexPath = getIndexPath(path);
+            boolean indexExists = Files.exists(indexPath);
+            FileChannel data = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            FileChannel index;
+            try {
+                index = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                data.close();
+                throw e;
+            }
+            LogFile logFile = new LogFile(path, data, index, data.size());
+            if (!indexExists && logFile.size > 0) {
+                logFile.writeOffset(0);
+            }
+            return logFile;
+        }
+
+        private void append(byte[] entry) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(entry);
+            while (buffer.hasRemaining()) {
+                data.write(buffer);
+            }
+            writeOffset(size);
+            size += entry.length;
+            dirty = true;
+        }
+
+        private void writeOffset(long offset) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(OFFSET_BYTES).putLong(offset);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                index.write(buffer);
+            }
+        }
+
+        private void force() throws IOException {
+            data.force(false);
+            index.force(false);
+            dirty = false;
+        }
+
+        private void close() {
+            try {
+                if (dirty) {
+                    force();
+                }
+                data.close();
+                index.close();
+            } catch (IOException e) {
+                logger.error(String.format("Cannot close log file %s. ", path) + e.getMessage(), e);
+            }
+        }
+    }
+}
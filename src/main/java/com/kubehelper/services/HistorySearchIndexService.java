@@ -0,0 +1,310 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.services;
+
+import com.kubehelper.domain.core.HistoryEntry;
+import com.kubehelper.domain.core.IndexedHistoryEntry;
+import com.kubehelper.domain.core.IndexedHistoryEntry.Source;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over commands history and cron jobs reports entries.
+ * <p>
+ * Index is built from all history and reports files in background thread at application start, searches return nothing until it is built.
+ * Then only entries appended after last indexed offset of changed files are indexed on search,
+ * files are marked as changed by {@link HistoryLogService} append listener. Command, cron job name and output of each entry are split into case folded tokens,
+ * each token, day and job name has bit set of entry ids. Query terms are intersected, so search does not read files.
+ * <p>
+ * Query: space separated terms, all must match. Term is a word of command, job name or output, "date:" prefix of day (e.g. date:2021-03) or "job:" exact job name.
+ *
+ * @author JDev
+ */
+@Service
+public class HistorySearchIndexService {
+
+    private static Logger logger = LoggerFactory.getLogger(HistorySearchIndexService.class);
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("[\\p{L}\\p{N}_]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int SNIPPET_LINES = 3;
+    private static final int SNIPPET_LENGTH = 300;
+    private static final String DATE_TERM_PREFIX = "date:";
+    private static final String JOB_TERM_PREFIX = "job:";
+
+    @Value("${kubehelper.commanmds.history.path}")
+    private String commandsHistoryPath;
+
+    @Value("${kubehelper.cron.jobs.reports.path}")
+    private String cronJobsReportsPath;
+
+    @Value("${kubehelper.history.search.max.tokens.per.entry}")
+    private int maxTokensPerEntry;
+
+    @Autowired
+    private HistoryLogService historyLogService;
+
+    @Autowired
+    private CommonService commonService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IndexedHistoryEntry> entries = new ArrayList<>();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final Map<String, BitSet> entriesByDay = new HashMap<>();
+    private final Map<String, BitSet> entriesByName = new HashMap<>();
+    private final BitSet reportEntries = new BitSet();
+    private final Map<String, Long> indexedOffsets = new HashMap<>();
+    private final Set<String> changedFiles = ConcurrentHashMap.newKeySet();
+    private volatile boolean built;
+
+    @PostConstruct
+    private void postConstruct() {
+        historyLogService.addAppendListener(changedFiles::add);
+    }
+
+    /**
+     * Starts index build in background thread, so the full scan of files does not delay application start and first search.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread indexBuilder = new Thread(this::build, "kubehelper-history-index-builder");
+        indexBuilder.setDaemon(true);
+        indexBuilder.start();
+    }
+
+    /**
+     * Returns true if index is built and can be searched.
+     *
+     * @return - true if index is built.
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Searches entries by query, newest first. Returns nothing while index is building, see {@link #isBuilt()}.
+     *
+     * @param query  - space separated terms.
+     * @param source - commands history or cron jobs reports.
+     * @param limit  - max entries.
+     * @return - found entries, newest first.
+     */
+    public List<IndexedHistoryEntry> search(String query, Source source, int limit) {
+        if (StringUtils.isBlank(query) || !built) {
+            return new ArrayList<>();
+        }
+        refresh();
+        lock.readLock().lock();
+        try {
+            BitSet matched = null;
+            for (String term : query.trim().split("\\s+")) {
+                BitSet termEntries = getTermEntries(term);
+                if (Objects.isNull(matched)) {
+                    matched = termEntries;
+                } else {
+                    matched.and(termEntries);
+                }
+                if (matched.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            if (source == Source.REPORTS) {
+                matched.and(reportEntries);
+            } else {
+                matched.andNot(reportEntries);
+            }
+            return matched.stream()
+                    .mapToObj(entries::get)
+                    .sorted(Comparator.comparing(IndexedHistoryEntry::getSortKey).reversed())
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns new bit set of entries matching one query term.
+     */
+    private BitSet getTermEntries(String term) {
+        BitSet termEntries = new BitSet();
+        String foldedTerm = term.toLowerCase(Locale.ROOT);
+        if (foldedTerm.startsWith(DATE_TERM_PREFIX)) {
+            String dayPrefix = foldedTerm.substring(DATE_TERM_PREFIX.length());
+            entriesByDay.forEach((day, dayEntries) -> {
+                if (day.startsWith(dayPrefix)) {
+                    termEntries.or(dayEntries);
+                }
+            });
+            return termEntries;
+        }
+        if (foldedTerm.startsWith(JOB_TERM_PREFIX)) {
+            BitSet jobEntries = entriesByName.get(foldedTerm.substring(JOB_TERM_PREFIX.length()));
+            if (Objects.nonNull(jobEntries)) {
+                termEntries.or(jobEntries);
+            }
+            return termEntries;
+        }
+        Set<String> tokens = tokenize(foldedTerm, Integer.MAX_VALUE);
+        if (tokens.isEmpty()) {
+            return termEntries;
+        }
+        boolean first = true;
+        for (String token : tokens) {
+            BitSet tokenEntries = postings.getOrDefault(token, new BitSet());
+            if (first) {
+                termEntries.or(tokenEntries);
+                first = false;
+            } else {
+                termEntries.and(tokenEntries);
+            }
+        }
+        return termEntries;
+    }
+
+    /**
+     * Indexes all files. Files changed during build are indexed again from their indexed offsets on next search.
+     */
+    private void build() {
+        lock.writeLock().lock();
+        try {
+            changedFiles.clear();
+            indexFolder(commandsHistoryPath);
+            indexFolder(cronJobsReportsPath);
+            logger.debug("History search index is built: entries={}, tokens={}", entries.size(), postings.size());
+        } catch (RuntimeException e) {
+            logger.error("History search index is built partially: " + e.getMessage(), e);
+        } finally {
+            built = true;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes new entries of changed files.
+     */
+    private void refresh() {
+        if (changedFiles.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String filePath : new ArrayList<>(changedFiles)) {
+                changedFiles.remove(filePath);
+                indexFile(normalize(filePath));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexFolder(String folderPath) {
+        if (!Files.isDirectory(Paths.get(folderPath))) {
+            return;
+        }
+        try {
+            commonService.getFilesPathsByDirAndExtension(folderPath, 2, ".txt").forEach(filePath -> indexFile(normalize(filePath)));
+        } catch (IOException e) {
+            logger.error(String.format("indexFolder: Folder=%s. ", folderPath) + e.getMessage(), e);
+        }
+    }
+
+    private void indexFile(String filePath) {
+        if (!Files.exists(Paths.get(filePath))) {
+            return;
+        }
+        Source source = filePath.startsWith(normalize(cronJobsReportsPath)) ? Source.REPORTS : Source.COMMANDS;
+        try {
+            long indexedOffset = historyLogService.readEntriesFrom(filePath, indexedOffsets.getOrDefault(filePath, 0L), entry -> addEntry(source, filePath, entry));
+            indexedOffsets.put(filePath, indexedOffset);
+        } catch (IOException e) {
+            logger.error(String.format("indexFile: File=%s. ", filePath) + e.getMessage(), e);
+        }
+    }
+
+    private void addEntry(Source source, String filePath, HistoryEntry entry) {
+        int id = entries.size();
+        String output = entry.getOutput();
+        entries.add(new IndexedHistoryEntry(source, filePath, entry, buildSnippet(output)));
+        String text = String.join(" ", entry.getCommand(), entry.getName(), output).toLowerCase(Locale.ROOT);
+        tokenize(text, maxTokensPerEntry).forEach(token -> postings.computeIfAbsent(token, k -> new BitSet()).set(id));
+        entriesByDay.computeIfAbsent(entry.getDay(), k -> new BitSet()).set(id);
+        if (StringUtils.isNotBlank(entry.getName())) {
+            entriesByName.computeIfAbsent(entry.getName().toLowerCase(Locale.ROOT), k -> new BitSet()).set(id);
+        }
+        if (source == Source.REPORTS) {
+            reportEntries.set(id);
+        }
+    }
+
+    /**
+     * Splits case folded text to distinct tokens.
+     *
+     * @param text      - case folded text.
+     * @param maxTokens - max distinct tokens, rest of text is not indexed.
+     * @return - distinct tokens.
+     */
+    private Set<String> tokenize(String text, int maxTokens) {
+        Set<String> tokens = new HashSet<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(text);
+        while (matcher.find() && tokens.size() < maxTokens) {
+            int length = matcher.end() - matcher.start();
+            if (length >= MIN_TOKEN_LENGTH && length <= MAX_TOKEN_LENGTH) {
+                tokens.add(matcher.group());
+            }
+        }
+        return tokens;
+    }
+
+    private String buildSnippet(String output) {
+        String snippet = output.lines().filter(StringUtils::isNotBlank).limit(SNIPPET_LINES).collect(Collectors.joining("\n"));
+        return snippet.length() > SNIPPET_LENGTH ? snippet.substring(0, SNIPPET_LENGTH) + "..." : snippet;
+    }
+
+    private String normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize().toString();
+    }
+}
@@ -20,60 +20,27 @@ package com.kubehelper.services;
 import com.kubehelper.common.KubeAPI;
 import com.kubehelper.common.Resource;
 import com.kubehelper.common.ResourceProperty;
+import com.kubehelper.domain.core.LabelIndex;
 import com.kubehelper.domain.models.LabelsModel;
 import com.kubehelper.domain.results.LabelResult;
-import io.kubernetes.client.openapi.models.V1ConfigMap;
-import io.kubernetes.client.openapi.models.V1ConfigMapList;
-import io.kubernetes.client.openapi.models.V1DaemonSet;
-import io.kubernetes.client.openapi.models.V1DaemonSetList;
-import io.kubernetes.client.openapi.models.V1Deployment;
-import io.kubernetes.client.openapi.models.V1DeploymentList;
-import io.kubernetes.client.openapi.models.V1Job;
-import io.kubernetes.client.openapi.models.V1JobList;
+import com.kubehelper.domain.results.SelectorResult;
 import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
-import io.kubernetes.client.openapi.models.V1Namespace;
-import io.kubernetes.client.openapi.models.V1NamespaceList;
-import io.kubernetes.client.openapi.models.V1NetworkPolicy;
-import io.kubernetes.client.openapi.models.V1NetworkPolicyList;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
-import io.kubernetes.client.openapi.models.V1PersistentVolume;
-import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
-import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
-import io.kubernetes.client.openapi.models.V1PersistentVolumeList;
-import io.kubernetes.client.openapi.models.V1Pod;
-import io.kubernetes.client.openapi.models.V1PodList;
-import io.kubernetes.client.openapi.models.V1ReplicaSet;
-import io.kubernetes.client.openapi.models.V1ReplicaSetList;
-import io.kubernetes.client.openapi.models.V1Secret;
-import io.kubernetes.client.openapi.models.V1SecretList;
-import io.kubernetes.client.openapi.models.V1Service;
-import io.kubernetes.client.openapi.models.V1ServiceAccount;
-import io.kubernetes.client.openapi.models.V1ServiceAccountList;
-import io.kubernetes.client.openapi.models.V1ServiceList;
-import io.kubernetes.client.openapi.models.V1StatefulSet;
-import io.kubernetes.client.openapi.models.V1StatefulSetList;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBindingList;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRoleList;
-import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudget;
-import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudgetList;
-import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicy;
-import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicyList;
-import io.kubernetes.client.openapi.models.V1beta1Role;
-import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
-import io.kubernetes.client.openapi.models.V1beta1RoleBindingList;
-import io.kubernetes.client.openapi.models.V1beta1RoleList;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 import static com.kubehelper.common.Resource.CLUSTER_ROLE;
 import static com.kubehelper.common.Resource.CLUSTER_ROLE_BINDING;
@@ -113,6 +80,11 @@ public class LabelsService {
     @Autowired
     private KubeAPI kubeAPI;
 
+    private static final int MAX_SHOWN_MATCHED_OBJECTS = 50;
+
+    @Value("${kubehelper.kube.api.list.page.size}")
+    private int listPageSize;
+
     /**
      * Searches string selected kubernetes resources by selected namespace.
      *
@@ -121,6 +93,8 @@ public class LabelsService {
     public void search(LabelsModel model, Set<Resource> selectedResources) {
         model.getSearchResults().clear();
         model.getSearchExceptions().clear();
+        model.getSelectorsResults().clear();
+        model.setLabelIndex(new LabelIndex());
 
         try {
 
@@ -184,6 +158,7 @@ public class LabelsService {
             if (selectedResources.contains(POD_SECURITY_POLICY)) {
                 searchInPodSecurityPolicies(model);
             }
+            evaluateSelectors(model, selectedResources);
 
         } catch (RuntimeException e) {
             model.addSearchException(e);
@@ -198,20 +173,20 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInPods(LabelsModel model) {
-        V1PodList podsList = kubeAPI.getV1PodsList(model.getSelectedNamespace(), model);
-        for (V1Pod pod : podsList.getItems()) {
+        kubeAPI.forEachPod(model.getSelectedNamespace(), listPageSize, model, pod -> {
             try {
                 V1ObjectMeta meta = pod.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, POD, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, POD, ANNOTATION, model, ""));
                     Optional.ofNullable(pod.getSpec().getNodeSelector()).ifPresent(map -> addSearchResultsToModel(map, meta, POD, NODE_SELECTOR, model, ""));
+                    model.getLabelIndex().add(POD, meta);
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -220,10 +195,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInConfigMaps(LabelsModel model) {
-        V1ConfigMapList configMapsList = kubeAPI.getV1ConfigMapsList(model.getSelectedNamespace(), model);
-        for (V1ConfigMap configMap : configMapsList.getItems()) {
+        kubeAPI.forEachObjectMeta(CONFIG_MAP, model.getSelectedNamespace(), listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = configMap.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, CONFIG_MAP, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, CONFIG_MAP, ANNOTATION, model, ""));
@@ -232,7 +205,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -241,20 +214,22 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInServices(LabelsModel model) {
-        V1ServiceList servicesList = kubeAPI.getV1ServicesList(model.getSelectedNamespace(), model);
-        for (V1Service service : servicesList.getItems()) {
+        kubeAPI.forEachService(model.getSelectedNamespace(), listPageSize, model, service -> {
             try {
                 V1ObjectMeta meta = service.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, SERVICE, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, SERVICE, ANNOTATION, model, ""));
                     Optional.ofNullable(service.getSpec().getSelector()).ifPresent(map -> addSearchResultsToModel(map, meta, SERVICE, SELECTOR, model, ""));
+                    if (MapUtils.isNotEmpty(service.getSpec().getSelector())) {
+                        addSelectorResultToModel(meta, SERVICE, POD, service.getSpec().getSelector(), null, model);
+                    }
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -263,19 +238,17 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInNamespaces(LabelsModel model) {
-        V1NamespaceList namespacesList = kubeAPI.getV1NamespacesList(model);
-        for (V1Namespace namespace : namespacesList.getItems()) {
+        kubeAPI.forEachObjectMeta(NAMESPACE, null, listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = namespace.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
-                    Optional.ofNullable(namespace.getMetadata().getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, NAMESPACE, LABEL, model, ""));
-                    Optional.ofNullable(namespace.getMetadata().getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, NAMESPACE, ANNOTATION, model, ""));
+                    Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, NAMESPACE, LABEL, model, ""));
+                    Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, NAMESPACE, ANNOTATION, model, ""));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -284,17 +257,16 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInPersistentVolumes(LabelsModel model) {
-        V1PersistentVolumeList persistentVolumesList = kubeAPI.getV1PersistentVolumesList(model);
-        for (V1PersistentVolume pv : persistentVolumesList.getItems()) {
+        kubeAPI.forEachObjectMeta(PERSISTENT_VOLUME, null, listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = pv.getMetadata();
                 Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, PERSISTENT_VOLUME, LABEL, model, ""));
                 Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, PERSISTENT_VOLUME, ANNOTATION, model, ""));
+                model.getLabelIndex().add(PERSISTENT_VOLUME, meta);
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -303,8 +275,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInPersistentVolumeClaims(LabelsModel model) {
-        V1PersistentVolumeClaimList persistentVolumeClaimsList = kubeAPI.getV1PersistentVolumeClaimsList(model.getSelectedNamespace(), model);
-        for (V1PersistentVolumeClaim pvc : persistentVolumeClaimsList.getItems()) {
+        kubeAPI.forEachPersistentVolumeClaim(model.getSelectedNamespace(), listPageSize, model, pvc -> {
             try {
                 V1ObjectMeta meta = pvc.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -312,12 +283,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, PERSISTENT_VOLUME_CLAIM, ANNOTATION, model, ""));
                     Optional.ofNullable(pvc.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, PERSISTENT_VOLUME_CLAIM, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(pvc.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, PERSISTENT_VOLUME_CLAIM, PERSISTENT_VOLUME, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -326,10 +298,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInServiceAccounts(LabelsModel model) {
-        V1ServiceAccountList serviceAccountsList = kubeAPI.getV1ServiceAccountsList(model.getSelectedNamespace(), model);
-        for (V1ServiceAccount serviceAccount : serviceAccountsList.getItems()) {
+        kubeAPI.forEachObjectMeta(SERVICE_ACCOUNT, model.getSelectedNamespace(), listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = serviceAccount.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, SERVICE_ACCOUNT, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, SERVICE_ACCOUNT, ANNOTATION, model, ""));
@@ -338,7 +308,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -347,10 +317,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInSecrets(LabelsModel model) {
-        V1SecretList secretsList = kubeAPI.getV1SecretsList(model.getSelectedNamespace(), model);
-        for (V1Secret secret : secretsList.getItems()) {
+        kubeAPI.forEachObjectMeta(SECRET, model.getSelectedNamespace(), listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = secret.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, SECRET, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, SECRET, ANNOTATION, model, ""));
@@ -359,7 +327,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -368,8 +336,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInDaemonSets(LabelsModel model) {
-        V1DaemonSetList setsList = kubeAPI.getV1DaemonSetList(model.getSelectedNamespace(), model);
-        for (V1DaemonSet set : setsList.getItems()) {
+        kubeAPI.forEachDaemonSet(model.getSelectedNamespace(), listPageSize, model, set -> {
             try {
                 V1ObjectMeta meta = set.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -377,12 +344,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, DAEMON_SET, ANNOTATION, model, ""));
                     Optional.ofNullable(set.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, DAEMON_SET, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(set.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, DAEMON_SET, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -392,8 +360,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInDeployments(LabelsModel model) {
-        V1DeploymentList deploymentsList = kubeAPI.getV1DeploymentList(model.getSelectedNamespace(), model);
-        for (V1Deployment deployment : deploymentsList.getItems()) {
+        kubeAPI.forEachDeployment(model.getSelectedNamespace(), listPageSize, model, deployment -> {
             try {
                 V1ObjectMeta meta = deployment.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -401,12 +368,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, DEPLOYMENT, ANNOTATION, model, ""));
                     Optional.ofNullable(deployment.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, DEPLOYMENT, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(deployment.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, DEPLOYMENT, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
 
@@ -416,8 +384,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInReplicaSets(LabelsModel model) {
-        V1ReplicaSetList replicaSetsList = kubeAPI.getV1ReplicaSetList(model.getSelectedNamespace(), model);
-        for (V1ReplicaSet replicaSet : replicaSetsList.getItems()) {
+        kubeAPI.forEachReplicaSet(model.getSelectedNamespace(), listPageSize, model, replicaSet -> {
             try {
                 V1ObjectMeta meta = replicaSet.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -425,12 +392,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, REPLICA_SET, ANNOTATION, model, ""));
                     Optional.ofNullable(replicaSet.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, REPLICA_SET, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(replicaSet.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, REPLICA_SET, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -439,8 +407,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInStatefulSets(LabelsModel model) {
-        V1StatefulSetList statefulSetstList = kubeAPI.getV1StatefulSetList(model.getSelectedNamespace(), model);
-        for (V1StatefulSet statefulSet : statefulSetstList.getItems()) {
+        kubeAPI.forEachStatefulSet(model.getSelectedNamespace(), listPageSize, model, statefulSet -> {
             try {
                 V1ObjectMeta meta = statefulSet.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -448,12 +415,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, STATEFUL_SET, ANNOTATION, model, ""));
                     Optional.ofNullable(statefulSet.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, STATEFUL_SET, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(statefulSet.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, STATEFUL_SET, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -462,8 +430,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInJobs(LabelsModel model) {
-        V1JobList jobsList = kubeAPI.getV1JobList(model.getSelectedNamespace(), model);
-        for (V1Job job : jobsList.getItems()) {
+        kubeAPI.forEachJob(model.getSelectedNamespace(), listPageSize, model, job -> {
             try {
                 V1ObjectMeta meta = job.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -471,12 +438,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, JOB, ANNOTATION, model, ""));
                     Optional.ofNullable(job.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, JOB, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(job.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, JOB, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -485,10 +453,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInClusterRoleBindings(LabelsModel model) {
-        V1beta1ClusterRoleBindingList clusterRoleBindingsList = kubeAPI.getV1ClusterRolesBindingsList(model);
-        for (V1beta1ClusterRoleBinding binding : clusterRoleBindingsList.getItems()) {
+        kubeAPI.forEachObjectMeta(CLUSTER_ROLE_BINDING, null, listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = binding.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, CLUSTER_ROLE_BINDING, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, CLUSTER_ROLE_BINDING, ANNOTATION, model, ""));
@@ -497,7 +463,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -506,10 +472,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInClusterRoles(LabelsModel model) {
-        V1beta1ClusterRoleList clusterRolesList = kubeAPI.getV1ClusterRolesList(model);
-        for (V1beta1ClusterRole clusterRole : clusterRolesList.getItems()) {
+        kubeAPI.forEachObjectMeta(CLUSTER_ROLE, null, listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = clusterRole.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, CLUSTER_ROLE, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, CLUSTER_ROLE, ANNOTATION, model, ""));
@@ -518,7 +482,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -527,10 +491,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInRoleBindings(LabelsModel model) {
-        V1beta1RoleBindingList v1RolesBindingsList = kubeAPI.getV1RolesBindingList(model.getSelectedNamespace(), model);
-        for (V1beta1RoleBinding binding : v1RolesBindingsList.getItems()) {
+        kubeAPI.forEachObjectMeta(ROLE_BINDING, model.getSelectedNamespace(), listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = binding.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, ROLE_BINDING, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, ROLE_BINDING, ANNOTATION, model, ""));
@@ -539,7 +501,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -548,10 +510,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInRoles(LabelsModel model) {
-        V1beta1RoleList clusterRolesList = kubeAPI.getV1RolesList(model.getSelectedNamespace(), model);
-        for (V1beta1Role clusterRole : clusterRolesList.getItems()) {
+        kubeAPI.forEachObjectMeta(ROLE, model.getSelectedNamespace(), listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = clusterRole.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, ROLE, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, ROLE, ANNOTATION, model, ""));
@@ -560,7 +520,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -569,8 +529,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInNetworkPolicies(LabelsModel model) {
-        V1NetworkPolicyList networkPolicyList = kubeAPI.getV1NetworkPolicyList(model.getSelectedNamespace(), model);
-        for (V1NetworkPolicy networkPolicy : networkPolicyList.getItems()) {
+        kubeAPI.forEachNetworkPolicy(model.getSelectedNamespace(), listPageSize, model, networkPolicy -> {
             try {
                 V1ObjectMeta meta = networkPolicy.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -578,12 +537,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, NETWORK_POLICY, ANNOTATION, model, ""));
                     Optional.ofNullable(networkPolicy.getSpec().getPodSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, NETWORK_POLICY, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(networkPolicy.getSpec().getPodSelector()).ifPresent(selector -> addSelectorResultToModel(meta, NETWORK_POLICY, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -592,8 +552,7 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInPodDistributionBudgets(LabelsModel model) {
-        V1beta1PodDisruptionBudgetList podDisruptionBudgetsList = kubeAPI.getV1beta1PodDisruptionBudgetsList(model.getSelectedNamespace(), model);
-        for (V1beta1PodDisruptionBudget budget : podDisruptionBudgetsList.getItems()) {
+        kubeAPI.forEachPodDisruptionBudget(model.getSelectedNamespace(), listPageSize, model, budget -> {
             try {
                 V1ObjectMeta meta = budget.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
@@ -601,12 +560,13 @@ public class LabelsService {
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, POD_DISRUPTION_BUDGET, ANNOTATION, model, ""));
                     Optional.ofNullable(budget.getSpec().getSelector()).ifPresent(selector -> addSearchResultsToModel(selector.getMatchLabels(), meta, POD_DISRUPTION_BUDGET, SELECTOR, model,
                             getMatchExpressions(selector.getMatchExpressions())));
+                    Optional.ofNullable(budget.getSpec().getSelector()).ifPresent(selector -> addSelectorResultToModel(meta, POD_DISRUPTION_BUDGET, POD, selector.getMatchLabels(), selector.getMatchExpressions(), model));
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -615,10 +575,8 @@ public class LabelsService {
      * @param model - labels model
      */
     private void searchInPodSecurityPolicies(LabelsModel model) {
-        V1beta1PodSecurityPolicyList podSecurityPolicyList = kubeAPI.getPolicyV1beta1PodSecurityPolicyList(model);
-        for (V1beta1PodSecurityPolicy policy : podSecurityPolicyList.getItems()) {
+        kubeAPI.forEachObjectMeta(POD_SECURITY_POLICY, null, listPageSize, model, meta -> {
             try {
-                V1ObjectMeta meta = policy.getMetadata();
                 if (!skipKubeNamespace(model, meta)) {
                     Optional.ofNullable(meta.getLabels()).ifPresent(map -> addSearchResultsToModel(map, meta, POD_SECURITY_POLICY, LABEL, model, ""));
                     Optional.ofNullable(meta.getAnnotations()).ifPresent(map -> addSearchResultsToModel(map, meta, POD_SECURITY_POLICY, ANNOTATION, model, ""));
@@ -627,7 +585,7 @@ public class LabelsService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
 
@@ -657,6 +615,64 @@ public class LabelsService {
         }
     }
 
+    /**
+     * Add label selector of resource to model. Selected objects are evaluated after all resources are searched.
+     *
+     * @param meta             - resource meta
+     * @param resource         - @{@link Resource} with selector
+     * @param targetResource   - @{@link Resource} of selected objects
+     * @param matchLabels      - selector labels
+     * @param matchExpressions - selector expressions
+     * @param model            - @{@link LabelsModel}
+     */
+    private void addSelectorResultToModel(V1ObjectMeta meta, Resource resource, Resource targetResource, Map<String, String> matchLabels,
+                                          List<V1LabelSelectorRequirement> matchExpressions, LabelsModel model) {
+        model.addSelectorResult(new SelectorResult(model.getSelectorsResults().size() + 1)
+                .setResourceType(resource)
+                .setResourceName(meta.getName())
+                .setNamespace(meta.getNamespace() == null ? "N/A" : meta.getNamespace())
+                .setTargetResourceType(targetResource)
+                .setMatchLabels(matchLabels)
+                .setMatchExpressions(matchExpressions));
+    }
+
+    /**
+     * Evaluates all found selectors against {@link LabelIndex} built from searched pods and persistent volumes.
+     * Pods or persistent volumes which were not selected for search are listed by metadata only to fill the index.
+     * Selector without matched objects is orphaned.
+     *
+     * @param model             - labels model
+     * @param selectedResources - resources selected for search
+     */
+    private void evaluateSelectors(LabelsModel model, Set<Resource> selectedResources) {
+        if (model.getSelectorsResults().isEmpty()) {
+            return;
+        }
+        LabelIndex index = model.getLabelIndex();
+        Set<Resource> targetResources = model.getSelectorsResults().stream().map(SelectorResult::getRawTargetResourceType).collect(Collectors.toSet());
+        if (targetResources.contains(POD) && !selectedResources.contains(POD)) {
+            kubeAPI.forEachObjectMeta(POD, model.getSelectedNamespace(), listPageSize, model, meta -> {
+                if (!skipKubeNamespace(model, meta)) {
+                    index.add(POD, meta);
+                }
+            });
+        }
+        if (targetResources.contains(PERSISTENT_VOLUME) && !selectedResources.contains(PERSISTENT_VOLUME)) {
+            kubeAPI.forEachObjectMeta(PERSISTENT_VOLUME, null, listPageSize, model, meta -> index.add(PERSISTENT_VOLUME, meta));
+        }
+        for (SelectorResult selectorResult : model.getSelectorsResults()) {
+            Resource target = selectorResult.getRawTargetResourceType();
+            String namespace = target == PERSISTENT_VOLUME ? null : selectorResult.getNamespace();
+            BitSet matched = index.select(target, namespace, selectorResult.getMatchLabels(), selectorResult.getMatchExpressions());
+            StringJoiner matchedObjects = new StringJoiner(", ");
+            matched.stream().limit(MAX_SHOWN_MATCHED_OBJECTS).forEach(id -> matchedObjects.add(index.getName(id)));
+            if (matched.cardinality() > MAX_SHOWN_MATCHED_OBJECTS) {
+                matchedObjects.add(String.format("... and %d more", matched.cardinality() - MAX_SHOWN_MATCHED_OBJECTS));
+            }
+            selectorResult.setMatchedAmount(matched.cardinality()).setMatchedObjects(matchedObjects.toString());
+        }
+    }
+
     private boolean skipKubeNamespace(LabelsModel model, V1ObjectMeta meta) {
         return model.isSkipKubeNamespaces() && StringUtils.isNotBlank(meta.getNamespace()) && meta.getNamespace().startsWith("kube-");
     }
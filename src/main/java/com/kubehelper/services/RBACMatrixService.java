@@ -0,0 +1,260 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.services;
+
+import com.kubehelper.common.KubeAPI;
+import com.kubehelper.common.KubeAPICache;
+import com.kubehelper.domain.core.RBACMatrix;
+import com.kubehelper.domain.core.RBACPermission;
+import com.kubehelper.domain.core.RBACSubject;
+import com.kubehelper.domain.models.PageModel;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
+import io.kubernetes.client.openapi.models.V1beta1PolicyRule;
+import io.kubernetes.client.openapi.models.V1beta1Role;
+import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
+import io.kubernetes.client.openapi.models.V1beta1RoleRef;
+import io.kubernetes.client.openapi.models.V1beta1Subject;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.kubehelper.common.Resource.CLUSTER_ROLE;
+
+/**
+ * Effective RBAC permissions engine. Compiles ClusterRoles, Roles and their bindings into {@link RBACMatrix},
+ * which answers "who can verb resource" and "what can subject do" queries without fetching and evaluating RBAC objects per query.
+ * <p>
+ * Aggregated ClusterRoles are resolved by their aggregation rule label selectors. Rules with nonResourceURLs are not compiled.
+ * Matrix is compiled lazily on query and recompiled after RBAC objects change: when {@link KubeAPICache} is enabled informer events mark matrix dirty,
+ * otherwise matrix expires after configured ttl.
+ *
+ * @author JDev
+ */
+@Service
+public class RBACMatrixService {
+
+    private static Logger logger = LoggerFactory.getLogger(RBACMatrixService.class);
+
+    @Value("${kubehelper.rbac.matrix.ttl.seconds}")
+    private long ttlSeconds;
+
+    @Autowired
+    private KubeAPI kubeAPI;
+
+    @Autowired
+    private KubeAPICache kubeAPICache;
+
+    private volatile RBACMatrix matrix;
+    private volatile boolean dirty = true;
+    private volatile long compiledAt;
+    private boolean watched;
+
+    @PostConstruct
+    private void postConstruct() {
+        watched = markDirtyOnChange(V1beta1ClusterRole.class)
+                & markDirtyOnChange(V1beta1Role.class)
+                & markDirtyOnChange(V1beta1ClusterRoleBinding.class)
+                & markDirtyOnChange(V1beta1RoleBinding.class);
+    }
+
+    /**
+     * Finds subjects which can perform verb on resource.
+     *
+     * @param model        - page model for exceptions.
+     * @param verb         - verb. e.g. get, list, delete.
+     * @param apiGroup     - api group, empty for core group.
+     * @param resource     - resource. e.g. pods, pods/log.
+     * @param resourceName - resource name or empty.
+     * @param namespace    - namespace or empty/all for cluster wide grants only.
+     * @return - subjects with permission.
+     */
+    public List<RBACSubject> whoCan(PageModel model, String verb, String apiGroup, String resource, String resourceName, String namespace) {
+        return getMatrix(model).whoCan(verb, apiGroup, resource, resourceName, namespace);
+    }
+
+    /**
+     * Finds all permissions of subject.
+     *
+     * @param model   - page model for exceptions.
+     * @param subject - binding subject.
+     * @return - permissions by namespace, {@link RBACMatrix#CLUSTER_SCOPE} key holds cluster wide permissions.
+     */
+    public Map<String, List<RBACPermission>> whatCan(PageModel model, RBACSubject subject) {
+        return getMatrix(model).whatCan(subject);
+    }
+
+    /**
+     * Marks matrix dirty, it will be recompiled on next query.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    private RBACMatrix getMatrix(PageModel model) {
+        if (isStale()) {
+            synchronized (this) {
+                if (isStale()) {
+                    dirty = false;
+                    compiledAt = System.currentTimeMillis();
+                    matrix = compile(model);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private boolean isStale() {
+        return dirty || Objects.isNull(matrix) || (!watched && System.currentTimeMillis() - compiledAt > ttlSeconds * 1000);
+    }
+
+    private RBACMatrix compile(PageModel model) {
+        long start = System.currentTimeMillis();
+        RBACMatrix compiled = new RBACMatrix();
+        try {
+            Map<String, List<V1beta1PolicyRule>> clusterRolesRules = getClusterRolesRules(kubeAPI.getV1ClusterRolesList(model).getItems());
+            Map<String, List<V1beta1PolicyRule>> rolesRules = new HashMap<>();
+            for (V1beta1Role role : kubeAPI.getV1RolesList("all", model).getItems()) {
+                rolesRules.put(role.getMetadata().getNamespace() + "/" + role.getMetadata().getName(), Objects.requireNonNullElse(role.getRules(), Collections.emptyList()));
+            }
+            for (V1beta1ClusterRoleBinding binding : kubeAPI.getV1ClusterRolesBindingsList(model).getItems()) {
+                grant(compiled, RBACMatrix.CLUSTER_SCOPE, null, binding.getSubjects(), clusterRolesRules.get(binding.getRoleRef().getName()));
+            }
+            for (V1beta1RoleBinding binding : kubeAPI.getV1RolesBindingList("all", model).getItems()) {
+                String namespace = binding.getMetadata().getNamespace();
+                V1beta1RoleRef roleRef = binding.getRoleRef();
+                List<V1beta1PolicyRule> rules = CLUSTER_ROLE.getKind().equals(roleRef.getKind()) ? clusterRolesRules.get(roleRef.getName()) : rolesRules.get(namespace + "/" + roleRef.getName());
+                grant(compiled, namespace, namespace, binding.getSubjects(), rules);
+            }
+        } catch (RuntimeException e) {
+            dirty = true;
+            String errorMessage = String.format("Error at compiling RBAC matrix: Message: %s", e.getMessage());
+            model.addException(errorMessage, e);
+            logger.error(errorMessage, e);
+        }
+        logger.info("{} compiled in {} ms.", compiled, System.currentTimeMillis() - start);
+        return compiled;
+    }
+
+    /**
+     * Collects rules of ClusterRoles. Aggregated ClusterRole gets rules of all ClusterRoles selected by its aggregation rule.
+     *
+     * @param clusterRoles - all ClusterRoles.
+     * @return - rules by ClusterRole name.
+     */
+    private Map<String, List<V1beta1PolicyRule>> getClusterRolesRules(List<V1beta1ClusterRole> clusterRoles) {
+        Map<String, List<V1beta1PolicyRule>> rules = new HashMap<>();
+        for (V1beta1ClusterRole clusterRole : clusterRoles) {
+            List<V1beta1PolicyRule> roleRules = new ArrayList<>(Objects.requireNonNullElse(clusterRole.getRules(), Collections.emptyList()));
+            if (Objects.nonNull(clusterRole.getAggregationRule()) && CollectionUtils.isNotEmpty(clusterRole.getAggregationRule().getClusterRoleSelectors())) {
+                for (V1beta1ClusterRole aggregated : clusterRoles) {
+                    if (aggregated != clusterRole && Objects.nonNull(aggregated.getRules())
+                            && clusterRole.getAggregationRule().getClusterRoleSelectors().stream().anyMatch(selector -> matches(selector, aggregated.getMetadata().getLabels()))) {
+                        roleRules.addAll(aggregated.getRules());
+                    }
+                }
+            }
+            rules.put(clusterRole.getMetadata().getName(), roleRules);
+        }
+        return rules;
+    }
+
+    private void grant(RBACMatrix compiled, String scope, String bindingNamespace, List<V1beta1Subject> subjects, List<V1beta1PolicyRule> rules) {
+        if (CollectionUtils.isEmpty(subjects) || CollectionUtils.isEmpty(rules)) {
+            return;
+        }
+        for (V1beta1Subject subject : subjects) {
+            String subjectNamespace = "ServiceAccount".equals(subject.getKind()) ? Objects.requireNonNullElse(subject.getNamespace(), bindingNamespace) : null;
+            RBACSubject rbacSubject = new RBACSubject(subject.getKind(), subjectNamespace, subject.getName());
+            for (V1beta1PolicyRule rule : rules) {
+                if (CollectionUtils.isEmpty(rule.getResources())) {
+                    continue;
+                }
+                List<String> apiGroups = CollectionUtils.isEmpty(rule.getApiGroups()) ? List.of("") : rule.getApiGroups();
+                List<String> resourceNames = CollectionUtils.isEmpty(rule.getResourceNames()) ? List.of("") : rule.getResourceNames();
+                for (String apiGroup : apiGroups) {
+                    for (String resource : rule.getResources()) {
+                        for (String resourceName : resourceNames) {
+                            for (String verb : rule.getVerbs()) {
+                                compiled.grant(scope, rbacSubject, new RBACPermission(apiGroup, resource, resourceName, verb));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean matches(V1LabelSelector selector, Map<String, String> labels) {
+        Map<String, String> objectLabels = Objects.requireNonNullElse(labels, Collections.emptyMap());
+        if (Objects.nonNull(selector.getMatchLabels())
+                && !selector.getMatchLabels().entrySet().stream().allMatch(label -> label.getValue().equals(objectLabels.get(label.getKey())))) {
+            return false;
+        }
+        if (Objects.nonNull(selector.getMatchExpressions())) {
+            for (V1LabelSelectorRequirement requirement : selector.getMatchExpressions()) {
+                String value = objectLabels.get(requirement.getKey());
+                List<String> values = Objects.requireNonNullElse(requirement.getValues(), Collections.emptyList());
+                boolean matched = switch (requirement.getOperator()) {
+                    case "In" -> Objects.nonNull(value) && values.contains(value);
+                    case "NotIn" -> Objects.isNull(value) || !values.contains(value);
+                    case "Exists" -> objectLabels.containsKey(requirement.getKey());
+                    case "DoesNotExist" -> !objectLabels.containsKey(requirement.getKey());
+                    default -> false;
+                };
+                if (!matched) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private <T> boolean markDirtyOnChange(Class<T> apiTypeClass) {
+        return kubeAPICache.addEventHandler(apiTypeClass, new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(T obj) {
+                dirty = true;
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                dirty = true;
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                dirty = true;
+            }
+        });
+    }
+}
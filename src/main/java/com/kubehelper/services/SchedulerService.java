@@ -18,11 +18,10 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 package com.kubehelper.services;
 
 import com.kubehelper.common.Global;
+import com.kubehelper.domain.core.CommandExecution;
 import com.kubehelper.domain.core.KubeHelperScheduledFuture;
 import com.kubehelper.domain.models.PageModel;
 import com.kubehelper.domain.results.CronJobResult;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringSubstitutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,12 +32,8 @@ import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.SequenceInputStream;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -62,6 +57,12 @@ public class SchedulerService {
     @Autowired
     private CommonService commonService;
 
+    @Autowired
+    private CommandExecutorService commandExecutorService;
+
+    @Autowired
+    private HistoryLogService historyLogService;
+
     @Value("${kubehelper.report.template.src.path}")
     private String reportTemplateSrcPath;
 
@@ -120,51 +121,18 @@ public class SchedulerService {
      */
     private Runnable getRunnableTask(CronJobResult job) {
         return () -> {
-            ProcessBuilder processBuilder = new ProcessBuilder();
-            String cronResultOutput = "", exception = "", reportContent = "";
-
-            //Start process
-            Process process;
-            processBuilder.command(job.getShell(), "-c", job.getCommand());
-            try {
-                process = processBuilder.start();
-
-                //read process output to string
-                try (BufferedReader output = new BufferedReader(new InputStreamReader(new SequenceInputStream(process.getInputStream(), process.getErrorStream())))) {
-                    cronResultOutput = output.lines().map(line -> line = line + "\n").reduce("", String::concat);
-                }
-            } catch (IOException e) {
-                if (logger.isDebugEnabled()) {
-                    exception = String.format("executeCommand: Command=%s", job.getCommand());
-                    logger.error(exception + e.getMessage(), e);
-                }
-            }
-
-            //check exception
-            cronResultOutput = StringUtils.isNotBlank(exception) ? exception : cronResultOutput;
+            CommandExecution execution = commandExecutorService.execute(job.getShell(), job.getCommand());
 
             //build report
-            reportContent = buildReport(job.getName(), job.getCommand(), cronResultOutput);
-
-            //create folder for report if they does not exists
-            new File(job.getReportsFolderPath()).mkdirs();
+            String reportContent = buildReport(job.getName(), job.getCommand(), execution.getOutput());
 
-            //combine path to report file
+            //append report to today's report file, folder and file are created if they does not exist
             String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
             String reportFilePath = job.getReportsFolderPath() + File.separator + today + ".txt";
             try {
-//                create/open report file
-                File file = new File(reportFilePath);
-                file.createNewFile();
-
-                //reads report content and append to the start new content
-                String fileContent = commonService.getResourceAsStringByPath(file.getPath());
-                fileContent = reportContent + fileContent;
-                FileUtils.writeStringToFile(file, fileContent, StandardCharsets.UTF_8.toString());
+                historyLogService.append(reportFilePath, reportContent);
             } catch (IOException e) {
-                if (logger.isDebugEnabled()) {
-                    logger.error(e.getMessage(), e);
-                }
+                logger.error(e.getMessage(), e);
             }
 
             //add cron run count
@@ -0,0 +1,402 @@
+/*
+Kube Helper
+Copyright (C) 2021 JDev
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.kubehelper.services;
+
+import com.kubehelper.common.KubeAPICache;
+import com.kubehelper.common.Resource;
+import com.kubehelper.common.matchers.SearchMatcher;
+import com.kubehelper.domain.core.IndexedDocument;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1DaemonSet;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1NetworkPolicy;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PersistentVolume;
+import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1ReplicaSet;
+import io.kubernetes.client.openapi.models.V1Secret;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceAccount;
+import io.kubernetes.client.openapi.models.V1StatefulSet;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
+import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
+import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudget;
+import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicy;
+import io.kubernetes.client.openapi.models.V1beta1Role;
+import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
+import org.apache.commons.lang3.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.kubehelper.common.Resource.CLUSTER_ROLE;
+import static com.kubehelper.common.Resource.CLUSTER_ROLE_BINDING;
+import static com.kubehelper.common.Resource.CONFIG_MAP;
+import static com.kubehelper.common.Resource.DAEMON_SET;
+import static com.kubehelper.common.Resource.DEPLOYMENT;
+import static com.kubehelper.common.Resource.JOB;
+import static com.kubehelper.common.Resource.NETWORK_POLICY;
+import static com.kubehelper.common.Resource.PERSISTENT_VOLUME;
+import static com.kubehelper.common.Resource.PERSISTENT_VOLUME_CLAIM;
+import static com.kubehelper.common.Resource.POD;
+import static com.kubehelper.common.Resource.POD_DISRUPTION_BUDGET;
+import static com.kubehelper.common.Resource.POD_SECURITY_POLICY;
+import static com.kubehelper.common.Resource.REPLICA_SET;
+import static com.kubehelper.common.Resource.ROLE;
+import static com.kubehelper.common.Resource.ROLE_BINDING;
+import static com.kubehelper.common.Resource.SECRET;
+import static com.kubehelper.common.Resource.SERVICE;
+import static com.kubehelper.common.Resource.SERVICE_ACCOUNT;
+import static com.kubehelper.common.Resource.STATEFUL_SET;
+
+/**
+ * Opt-in trigram inverted index over texts checked by {@link SearchService}.
+ * <p>
+ * Index is maintained incrementally from {@link KubeAPICache} informer events. Every searched text of object is split into case folded trigrams,
+ * each trigram has sorted posting list of document ids. Substring query of 3 or more characters is answered by intersecting posting lists of its trigrams,
+ * found candidates are then verified by regular matcher. Index is disabled and cleared when its estimated memory exceeds configured limit.
+ *
+ * @author JDev
+ */
+@Service
+public class SearchIndexService {
+
+    private static Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    //rough JVM footprint of index structures, used only for memory limit and usage report
+    private static final int POSTING_BYTES = Integer.BYTES;
+    private static final int DOCUMENT_TRIGRAM_BYTES = Long.BYTES;
+    private static final int TRIGRAM_ENTRY_BYTES = 96;
+    private static final int DOCUMENT_BYTES = 128;
+
+    @Value("${kubehelper.search.index.enabled}")
+    private boolean enabled;
+
+    @Value("${kubehelper.search.index.max.memory.mb}")
+    private long maxMemoryMb;
+
+    @Autowired
+    private KubeAPICache kubeAPICache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Resource, Class<?>> indexedKinds = new EnumMap<>(Resource.class);
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> documentIdsByUid = new HashMap<>();
+    private final List<IndexedDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocumentIds = new ArrayDeque<>();
+    private final Map<Resource, Integer> documentsCountByKind = new EnumMap<>(Resource.class);
+    private long postingsCount;
+    private long documentTrigramsCount;
+    private volatile boolean active;
+
+    @PostConstruct
+    private void postConstruct() {
+        if (!enabled) {
+            return;
+        }
+        if (!kubeAPICache.isEnabled()) {
+            logger.warn("Search index requires kubehelper.kube.api.cache.enabled=true. Search index is disabled.");
+            return;
+        }
+        active = true;
+        registerKind(POD, V1Pod.class, pod -> Stream.of(pod.getMetadata().getName()));
+        registerKind(PERSISTENT_VOLUME, V1PersistentVolume.class, pv -> Stream.of(pv.getMetadata().getName()));
+        registerKind(PERSISTENT_VOLUME_CLAIM, V1PersistentVolumeClaim.class, pvc -> Stream.of(pvc.getMetadata().getName()));
+        registerKind(SERVICE, V1Service.class, service -> Stream.of(service.getMetadata().getName()));
+        registerKind(SERVICE_ACCOUNT, V1ServiceAccount.class, serviceAccount -> Stream.of(serviceAccount.getMetadata().getName()));
+        registerKind(SECRET, V1Secret.class, secret -> Stream.concat(Stream.of(secret.getMetadata().getName()),
+                ObjectUtils.isEmpty(secret.getData()) ? Stream.empty() : secret.getData().keySet().stream()));
+        registerKind(CONFIG_MAP, V1ConfigMap.class, configMap -> Stream.concat(Stream.of(configMap.getMetadata().getName()),
+                ObjectUtils.isEmpty(configMap.getData()) ? Stream.empty() : configMap.getData().entrySet().stream().flatMap(entry -> Stream.of(entry.getKey(), entry.getValue()))));
+        registerKind(DAEMON_SET, V1DaemonSet.class, daemonSet -> Stream.of(daemonSet.getMetadata().getName()));
+        registerKind(DEPLOYMENT, V1Deployment.class, deployment -> Stream.of(deployment.getMetadata().getName()));
+        registerKind(REPLICA_SET, V1ReplicaSet.class, replicaSet -> Stream.of(replicaSet.getMetadata().getName()));
+        registerKind(STATEFUL_SET, V1StatefulSet.class, statefulSet -> Stream.of(statefulSet.getMetadata().getName()));
+        registerKind(JOB, V1Job.class, job -> Stream.of(job.getMetadata().getName()));
+        registerKind(CLUSTER_ROLE_BINDING, V1beta1ClusterRoleBinding.class, binding -> Stream.of(binding.getMetadata().getName()));
+        registerKind(CLUSTER_ROLE, V1beta1ClusterRole.class, clusterRole -> Stream.of(clusterRole.getMetadata().getName()));
+        registerKind(ROLE_BINDING, V1beta1RoleBinding.class, roleBinding -> Stream.of(roleBinding.getMetadata().getName()));
+        registerKind(ROLE, V1beta1Role.class, role -> Stream.of(role.getMetadata().getName()));
+        registerKind(NETWORK_POLICY, V1NetworkPolicy.class, policy -> Stream.of(policy.getMetadata().getName()));
+        registerKind(POD_DISRUPTION_BUDGET, V1beta1PodDisruptionBudget.class, budget -> Stream.of(budget.getMetadata().getName()));
+        registerKind(POD_SECURITY_POLICY, V1beta1PodSecurityPolicy.class, policy -> Stream.of(policy.getMetadata().getName()));
+        logger.info("Search index is enabled for {} resource types. Memory limit {} MB.", indexedKinds.size(), maxMemoryMb);
+    }
+
+    /**
+     * Subscribes index to informer events of kind.
+     *
+     * @param resource     - resource type as in search results.
+     * @param apiTypeClass - kubernetes object class.
+     * @param textsGetter  - returns all texts of object which are checked by search.
+     */
+    private <T extends KubernetesObject> void registerKind(Resource resource, Class<T> apiTypeClass, Function<T, Stream<String>> textsGetter) {
+        boolean registered = kubeAPICache.addEventHandler(apiTypeClass, new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(T obj) {
+                index(resource, obj, textsGetter);
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                index(resource, newObj, textsGetter);
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                remove(obj.getMetadata().getUid());
+            }
+        });
+        if (registered) {
+            indexedKinds.put(resource, apiTypeClass);
+        }
+    }
+
+    /**
+     * Finds candidates for substring search. Every object which contains search string in one of its searched texts is in result, but not every candidate contains it.
+     *
+     * @param searchString - literal search string.
+     * @return - candidate objects grouped by resource type, resource types which are not in index at the moment are absent.
+     * Null if index is disabled or search string is shorter than trigram.
+     */
+    public Map<Resource, List<IndexedDocument>> findCandidates(String searchString) {
+        if (!active || Objects.isNull(searchString) || searchString.length() < 3) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        Map<Resource, List<IndexedDocument>> candidates = new EnumMap<>(Resource.class);
+        lock.readLock().lock();
+        try {
+            if (!active) {
+                return null;
+            }
+            indexedKinds.forEach((resource, apiTypeClass) -> {
+                //informer events are delivered asynchronously, kind is used only when index caught up with informer store
+                if (kubeAPICache.size(apiTypeClass) == documentsCountByKind.getOrDefault(resource, 0)) {
+                    candidates.put(resource, new ArrayList<>());
+                }
+            });
+            for (int documentId : intersectPostings(getTrigrams(searchString))) {
+                IndexedDocument document = documents.get(documentId);
+                List<IndexedDocument> kindCandidates = candidates.get(document.getResource());
+                if (Objects.nonNull(kindCandidates)) {
+                    kindCandidates.add(document);
+                }
+            }
+            logger.debug("Search index query '{}' finished in {} ms. Candidates: {}. {}", searchString, System.currentTimeMillis() - start,
+                    candidates.values().stream().mapToInt(List::size).sum(), getUsageReport());
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns index size and estimated memory usage.
+     *
+     * @return - usage report.
+     */
+    public String getUsageReport() {
+        return String.format("Search index: documents=%d, trigrams=%d, postings=%d, estimated memory=%d KB of %d MB.",
+                documentIdsByUid.size(), postings.size(), postingsCount, getEstimatedMemoryBytes() / 1024, maxMemoryMb);
+    }
+
+    private long getEstimatedMemoryBytes() {
+        return postingsCount * POSTING_BYTES + documentTrigramsCount * DOCUMENT_TRIGRAM_BYTES + (long) postings.size() * TRIGRAM_ENTRY_BYTES
+                + (long) documents.size() * DOCUMENT_BYTES;
+    }
+
+    private <T extends KubernetesObject> void index(Resource resource, T object, Function<T, Stream<String>> textsGetter) {
+        V1ObjectMeta meta = object.getMetadata();
+        long[] trigrams = textsGetter.apply(object).filter(Objects::nonNull).flatMapToLong(text -> Arrays.stream(getTrigrams(text))).distinct().sorted().toArray();
+        lock.writeLock().lock();
+        try {
+            if (!active) {
+                return;
+            }
+            removeDocument(meta.getUid());
+            int documentId = freeDocumentIds.isEmpty() ? documents.size() : freeDocumentIds.pop();
+            IndexedDocument document = new IndexedDocument(resource, meta.getNamespace(), object, trigrams);
+            if (documentId == documents.size()) {
+                documents.add(document);
+            } else {
+                documents.set(documentId, document);
+            }
+            documentIdsByUid.put(meta.getUid(), documentId);
+            documentsCountByKind.merge(resource, 1, Integer::sum);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, k -> new PostingList()).add(documentId);
+            }
+            postingsCount += trigrams.length;
+            documentTrigramsCount += trigrams.length;
+            if (getEstimatedMemoryBytes() > maxMemoryMb * 1024 * 1024) {
+                logger.warn("Search index exceeded memory limit and is disabled, search falls back to full scan. {}", getUsageReport());
+                disable();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String uid) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(uid);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(String uid) {
+        Integer documentId = documentIdsByUid.remove(uid);
+        if (Objects.isNull(documentId)) {
+            return;
+        }
+        IndexedDocument document = documents.set(documentId, null);
+        for (long trigram : document.getTrigrams()) {
+            PostingList postingList = postings.get(trigram);
+            postingList.remove(documentId);
+            if (postingList.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        postingsCount -= document.getTrigrams().length;
+        documentTrigramsCount -= document.getTrigrams().length;
+        documentsCountByKind.merge(document.getResource(), -1, Integer::sum);
+        freeDocumentIds.push(documentId);
+    }
+
+    private void disable() {
+        active = false;
+        postings.clear();
+        documentIdsByUid.clear();
+        documents.clear();
+        freeDocumentIds.clear();
+        documentsCountByKind.clear();
+        postingsCount = 0;
+        documentTrigramsCount = 0;
+    }
+
+    /**
+     * Intersects posting lists starting from the shortest one.
+     *
+     * @param trigrams - query trigrams.
+     * @return - sorted ids of documents which contain all trigrams.
+     */
+    private int[] intersectPostings(long[] trigrams) {
+        List<PostingList> postingLists = new ArrayList<>();
+        for (long trigram : trigrams) {
+            PostingList postingList = postings.get(trigram);
+            if (Objects.isNull(postingList)) {
+                return new int[0];
+            }
+            postingLists.add(postingList);
+        }
+        postingLists.sort(Comparator.comparingInt(postingList -> postingList.size));
+        int[] result = Arrays.copyOf(postingLists.get(0).documentIds, postingLists.get(0).size);
+        int resultSize = result.length;
+        for (int i = 1; i < postingLists.size() && resultSize > 0; i++) {
+            PostingList postingList = postingLists.get(i);
+            int newSize = 0;
+            for (int j = 0; j < resultSize; j++) {
+                if (postingList.contains(result[j])) {
+                    result[newSize++] = result[j];
+                }
+            }
+            resultSize = newSize;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Splits text to distinct case folded trigrams. Each trigram is packed to long, 16 bits per character.
+     *
+     * @param text - text.
+     * @return - sorted distinct trigrams.
+     */
+    private static long[] getTrigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        long trigram = ((long) SearchMatcher.foldCase(text.charAt(0)) << 16) | SearchMatcher.foldCase(text.charAt(1));
+        for (int i = 2; i < text.length(); i++) {
+            trigram = ((trigram << 16) | SearchMatcher.foldCase(text.charAt(i))) & 0xFFFF_FFFF_FFFFL;
+            trigrams[i - 2] = trigram;
+        }
+        return Arrays.stream(trigrams).distinct().sorted().toArray();
+    }
+
+    /**
+     * Sorted growable array of document ids.
+     */
+    private static class PostingList {
+
+        private int[] documentIds = new int[4];
+        private int size;
+
+        private void add(int documentId) {
+            int i = Arrays.binarySearch(documentIds, 0, size, documentId);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == documentIds.length) {
+                documentIds = Arrays.copyOf(documentIds, size * 2);
+            }
+            System.arraycopy(documentIds, i, documentIds, i + 1, size - i);
+            documentIds[i] = documentId;
+            size++;
+        }
+
+        private void remove(int documentId) {
+            int i = Arrays.binarySearch(documentIds, 0, size, documentId);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(documentIds, i + 1, documentIds, i, size - i - 1);
+            size--;
+        }
+
+        private boolean contains(int documentId) {
+            return Arrays.binarySearch(documentIds, 0, size, documentId) >= 0;
+        }
+    }
+}
@@ -17,77 +17,87 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.services;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.kubehelper.common.KubeAPI;
 import com.kubehelper.common.Resource;
+import com.kubehelper.common.matchers.SearchMatcher;
+import com.kubehelper.common.matchers.SearchMode;
+import com.kubehelper.domain.core.CancellationHandle;
+import com.kubehelper.domain.core.IndexedDocument;
+import com.kubehelper.domain.core.ResourceReference;
 import com.kubehelper.domain.models.SearchModel;
 import com.kubehelper.domain.results.SearchResult;
 import io.kubernetes.client.Exec;
+import io.kubernetes.client.common.KubernetesObject;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1ConfigMapKeySelector;
-import io.kubernetes.client.openapi.models.V1ConfigMapList;
 import io.kubernetes.client.openapi.models.V1Container;
 import io.kubernetes.client.openapi.models.V1DaemonSet;
-import io.kubernetes.client.openapi.models.V1DaemonSetList;
 import io.kubernetes.client.openapi.models.V1Deployment;
-import io.kubernetes.client.openapi.models.V1DeploymentList;
 import io.kubernetes.client.openapi.models.V1EnvVar;
 import io.kubernetes.client.openapi.models.V1EnvVarSource;
 import io.kubernetes.client.openapi.models.V1Job;
-import io.kubernetes.client.openapi.models.V1JobList;
 import io.kubernetes.client.openapi.models.V1NetworkPolicy;
-import io.kubernetes.client.openapi.models.V1NetworkPolicyList;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1PersistentVolume;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaim;
-import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
-import io.kubernetes.client.openapi.models.V1PersistentVolumeList;
 import io.kubernetes.client.openapi.models.V1Pod;
-import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.openapi.models.V1PodSpec;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import io.kubernetes.client.openapi.models.V1ReplicaSet;
-import io.kubernetes.client.openapi.models.V1ReplicaSetList;
 import io.kubernetes.client.openapi.models.V1ResourceFieldSelector;
 import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretKeySelector;
-import io.kubernetes.client.openapi.models.V1SecretList;
 import io.kubernetes.client.openapi.models.V1Service;
 import io.kubernetes.client.openapi.models.V1ServiceAccount;
-import io.kubernetes.client.openapi.models.V1ServiceAccountList;
-import io.kubernetes.client.openapi.models.V1ServiceList;
 import io.kubernetes.client.openapi.models.V1StatefulSet;
-import io.kubernetes.client.openapi.models.V1StatefulSetList;
 import io.kubernetes.client.openapi.models.V1beta1ClusterRole;
 import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBinding;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRoleBindingList;
-import io.kubernetes.client.openapi.models.V1beta1ClusterRoleList;
 import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudget;
-import io.kubernetes.client.openapi.models.V1beta1PodDisruptionBudgetList;
 import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicy;
-import io.kubernetes.client.openapi.models.V1beta1PodSecurityPolicyList;
 import io.kubernetes.client.openapi.models.V1beta1Role;
 import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
-import io.kubernetes.client.openapi.models.V1beta1RoleBindingList;
-import io.kubernetes.client.openapi.models.V1beta1RoleList;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static com.kubehelper.common.Resource.CLUSTER_ROLE;
 import static com.kubehelper.common.Resource.CLUSTER_ROLE_BINDING;
@@ -127,102 +137,220 @@ public class SearchService {
     @Autowired
     private Exec exec;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    @Qualifier("searchTaskExecutor")
+    private ThreadPoolTaskExecutor searchTaskExecutor;
+
+    @Autowired
+    @Qualifier("nativeEnvVarsTaskExecutor")
+    private ThreadPoolTaskExecutor nativeEnvVarsTaskExecutor;
+
+    @Autowired
+    @Qualifier("watchdogTaskScheduler")
+    private ThreadPoolTaskScheduler watchdogTaskScheduler;
+
+    @Value("${kubehelper.kube.api.list.page.size}")
+    private int listPageSize;
+
+    @Value("${kubehelper.search.full.definitions.cache.size}")
+    private int fullDefinitionsCacheSize;
+
+    @Value("${kubehelper.search.native.env.vars.timeout.seconds}")
+    private long nativeEnvVarsTimeoutSeconds;
+
+    @Value("${kubehelper.search.deadline.seconds}")
+    private long searchDeadlineSeconds;
+
+    private Cache<String, String> fullDefinitionsCache;
+
+    @PostConstruct
+    private void postConstruct() {
+        fullDefinitionsCache = CacheBuilder.newBuilder().maximumSize(fullDefinitionsCacheSize).build();
+    }
+
     /**
      * Searches string selected kubernetes resources by selected namespace.
+     * Each resource type is searched in parallel into own partial model, then partial models are merged in fixed resource types order.
      *
      * @param searchModel - search model
      */
     public void search(SearchModel searchModel, Set<Resource> selectedResources) {
+        startSearch(searchModel, selectedResources).forEach((resource, partialSearch) -> {
+            try {
+                searchModel.mergeSearchModel(partialSearch.join());
+            } catch (RuntimeException e) {
+                searchModel.addException("Error at search in " + resource.getKind() + ". Message: " + e.getMessage(), e);
+                logger.error(e.getMessage(), e);
+            }
+        });
+        searchModel.getCancellationHandle().release();
+    }
 
+    /**
+     * Searches string selected kubernetes resources by selected namespace without waiting for results.
+     * Partial model of each resource type is passed to callback from search thread as soon as the type is searched, callback is responsible for merging it to search model.
+     *
+     * @param searchModel        - search model
+     * @param selectedResources  - selected resource types.
+     * @param onResourceSearched - callback with resource type and its partial model.
+     * @return - future completed when all callbacks are done.
+     */
+    public CompletableFuture<Void> searchAsync(SearchModel searchModel, Set<Resource> selectedResources, BiConsumer<Resource, SearchModel> onResourceSearched) {
+        Map<Resource, CompletableFuture<SearchModel>> partialSearches = startSearch(searchModel, selectedResources);
+        CancellationHandle cancellationHandle = searchModel.getCancellationHandle();
+        return CompletableFuture.allOf(partialSearches.entrySet().stream()
+                .map(partialSearch -> partialSearch.getValue().thenAccept(partialModel -> onResourceSearched.accept(partialSearch.getKey(), partialModel)))
+                .toArray(CompletableFuture[]::new))
+                .whenComplete((result, e) -> cancellationHandle.release());
+    }
+
+    /**
+     * Returns resource types which will be searched.
+     *
+     * @param selectedResources - selected resource types.
+     * @return - searched resource types in results order.
+     */
+    public List<Resource> getSearchedResources(Set<Resource> selectedResources) {
+        return getSearchTasks().keySet().stream().filter(selectedResources::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Clears previous results, compiles search string and starts search of each selected resource type on search executor.
+     * Search is cancelled when its deadline is reached, cancellation handle is shared by all partial models.
+     *
+     * @param searchModel       - search model
+     * @param selectedResources - selected resource types.
+     * @return - partial searches in fixed resource types order. Empty if search string cannot be compiled.
+     */
+    private Map<Resource, CompletableFuture<SearchModel>> startSearch(SearchModel searchModel, Set<Resource> selectedResources) {
         searchModel.getSearchResults().clear();
         searchModel.getSearchExceptions().clear();
+        CancellationHandle cancellationHandle = new CancellationHandle();
+        searchModel.setCancellationHandle(cancellationHandle);
+        Map<Resource, CompletableFuture<SearchModel>> partialSearches = new LinkedHashMap<>();
         try {
+            searchModel.setSearchMatcher(SearchMatcher.compile(searchModel.getSearchMode(), searchModel.getSearchString(), searchModel.isNegateSearch()));
+        } catch (IllegalArgumentException e) {
+            searchModel.addException("Error at search. Wrong search string: " + searchModel.getSearchString() + ". Message: " + e.getMessage(), e);
+            logger.error(e.getMessage(), e);
+            return partialSearches;
+        }
+        if (searchModel.getSearchMode() == SearchMode.LITERAL && !searchModel.isNegateSearch()) {
+            searchModel.setIndexCandidates(searchIndexService.findCandidates(searchModel.getSearchString()));
+        } else {
+            searchModel.setIndexCandidates(null);
+        }
 
-            if (selectedResources.contains(ENV_VARIABLE)) {
-                searchInEnvironmentVariables(searchModel);
-            }
-            if (selectedResources.contains(CONFIG_MAP)) {
-                searchInConfigMaps(searchModel);
-            }
-            if (selectedResources.contains(SERVICE)) {
-                searchInServices(searchModel);
-            }
-            if (selectedResources.contains(POD)) {
-                searchInPods(searchModel);
-            }
-            if (selectedResources.contains(PERSISTENT_VOLUME)) {
-                searchInPersistentVolumes(searchModel);
-            }
-            if (selectedResources.contains(PERSISTENT_VOLUME_CLAIM)) {
-                searchInPersistentVolumeClaims(searchModel);
-            }
-            if (selectedResources.contains(SECRET)) {
-                searchInSecrets(searchModel);
-            }
-            if (selectedResources.contains(SERVICE_ACCOUNT)) {
-                searchInServiceAccounts(searchModel);
-            }
-            if (selectedResources.contains(DAEMON_SET)) {
-                searchInDaemonSets(searchModel);
-            }
-            if (selectedResources.contains(DEPLOYMENT)) {
-                searchInDeployments(searchModel);
-            }
-            if (selectedResources.contains(REPLICA_SET)) {
-                searchInReplicaSets(searchModel);
-            }
-            if (selectedResources.contains(STATEFUL_SET)) {
-                searchInStatefulSets(searchModel);
-            }
-            if (selectedResources.contains(JOB)) {
-                searchInJobs(searchModel);
-            }
-            if (selectedResources.contains(CLUSTER_ROLE_BINDING)) {
-                searchInClusterRoleBindings(searchModel);
-            }
-            if (selectedResources.contains(CLUSTER_ROLE)) {
-                searchInClusterRoles(searchModel);
-            }
-            if (selectedResources.contains(ROLE_BINDING)) {
-                searchInRoleBindings(searchModel);
-            }
-            if (selectedResources.contains(ROLE)) {
-                searchInRoles(searchModel);
-            }
-            if (selectedResources.contains(NETWORK_POLICY)) {
-                searchInNetworkPolicies(searchModel);
-            }
-            if (selectedResources.contains(POD_DISRUPTION_BUDGET)) {
-                searchInPodDistributionBudgets(searchModel);
-            }
-            if (selectedResources.contains(POD_SECURITY_POLICY)) {
-                searchInPodSecurityPolicies(searchModel);
+        if (searchDeadlineSeconds > 0) {
+            String reason = String.format("Search deadline of %d seconds is reached.", searchDeadlineSeconds);
+            cancellationHandle.setDeadlineTask(watchdogTaskScheduler.schedule(() -> cancellationHandle.cancel(reason), Instant.now().plusSeconds(searchDeadlineSeconds)));
+        }
+        getSearchTasks().forEach((resource, searchTask) -> {
+            if (selectedResources.contains(resource)) {
+                SearchModel partialModel = searchModel.copySearchParameters();
+                partialSearches.put(resource, CompletableFuture.supplyAsync(() -> runSearchTask(resource, searchTask, partialModel), searchTaskExecutor));
             }
+        });
+        return partialSearches;
+    }
 
+    /**
+     * Returns search methods by resource type. Order of entries is order of results in search model.
+     *
+     * @return - map with resource type and search method.
+     */
+    private Map<Resource, Consumer<SearchModel>> getSearchTasks() {
+        Map<Resource, Consumer<SearchModel>> searchTasks = new LinkedHashMap<>();
+        searchTasks.put(ENV_VARIABLE, this::searchInEnvironmentVariables);
+        searchTasks.put(CONFIG_MAP, this::searchInConfigMaps);
+        searchTasks.put(SERVICE, this::searchInServices);
+        searchTasks.put(POD, this::searchInPods);
+        searchTasks.put(PERSISTENT_VOLUME, this::searchInPersistentVolumes);
+        searchTasks.put(PERSISTENT_VOLUME_CLAIM, this::searchInPersistentVolumeClaims);
+        searchTasks.put(SECRET, this::searchInSecrets);
+        searchTasks.put(SERVICE_ACCOUNT, this::searchInServiceAccounts);
+        searchTasks.put(DAEMON_SET, this::searchInDaemonSets);
+        searchTasks.put(DEPLOYMENT, this::searchInDeployments);
+        searchTasks.put(REPLICA_SET, this::searchInReplicaSets);
+        searchTasks.put(STATEFUL_SET, this::searchInStatefulSets);
+        searchTasks.put(JOB, this::searchInJobs);
+        searchTasks.put(CLUSTER_ROLE_BINDING, this::searchInClusterRoleBindings);
+        searchTasks.put(CLUSTER_ROLE, this::searchInClusterRoles);
+        searchTasks.put(ROLE_BINDING, this::searchInRoleBindings);
+        searchTasks.put(ROLE, this::searchInRoles);
+        searchTasks.put(NETWORK_POLICY, this::searchInNetworkPolicies);
+        searchTasks.put(POD_DISRUPTION_BUDGET, this::searchInPodDistributionBudgets);
+        searchTasks.put(POD_SECURITY_POLICY, this::searchInPodSecurityPolicies);
+        return searchTasks;
+    }
+
+    /**
+     * Runs search of one resource type and logs its duration.
+     *
+     * @param resource     - searched resource type.
+     * @param searchTask   - search method.
+     * @param partialModel - model for results of this resource type.
+     * @return - partial model with results and exceptions.
+     */
+    private SearchModel runSearchTask(Resource resource, Consumer<SearchModel> searchTask, SearchModel partialModel) {
+        if (partialModel.isCancelled()) {
+            return partialModel;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            searchTask.accept(partialModel);
         } catch (RuntimeException e) {
-            searchModel.addSearchException(e);
+            partialModel.addSearchException(e);
             logger.error(e.getMessage(), e);
         }
+        logger.debug("Search in {} finished in {} ms. Found: {}, errors: {}.", resource.getKind(), System.currentTimeMillis() - start,
+                partialModel.getSearchResults().size(), partialModel.getSearchExceptions().size());
+        return partialModel;
     }
 
 
+    /**
+     * Iterates objects of resource type. Only index candidates are iterated when search index can answer the query, otherwise all objects are scanned.
+     *
+     * @param model        - search model.
+     * @param resource     - searched resource type.
+     * @param apiTypeClass - kubernetes object class.
+     * @param fullScan     - iterates all objects of resource type.
+     * @param consumer     - object consumer.
+     */
+    private <T> void forEachSearchCandidate(SearchModel model, Resource resource, Class<T> apiTypeClass, Consumer<Consumer<T>> fullScan, Consumer<T> consumer) {
+        List<IndexedDocument> candidates = Objects.isNull(model.getIndexCandidates()) ? null : model.getIndexCandidates().get(resource);
+        if (Objects.isNull(candidates)) {
+            fullScan.accept(consumer);
+            return;
+        }
+        String selectedNamespace = model.getSelectedNamespace();
+        candidates.stream()
+                .takeWhile(document -> !model.isCancelled())
+                .filter(document -> "all".equals(selectedNamespace) || Objects.isNull(document.getNamespace()) || document.getNamespace().equals(selectedNamespace))
+                .map(document -> apiTypeClass.cast(document.getObject()))
+                .forEach(consumer);
+    }
+
     /**
      * Searches string in Pods by selected namespace.
      *
      * @param model - search model
      */
     private void searchInPods(SearchModel model) {
-        V1PodList podsList = kubeAPI.getV1PodsList(model.getSelectedNamespace(), model);
-        for (V1Pod pod : podsList.getItems()) {
+        forEachSearchCandidate(model, POD, V1Pod.class, consumer -> kubeAPI.forEachPod(model.getSelectedNamespace(), listPageSize, model, consumer), pod -> {
             try {
-                if (isStringsContainsSearchString(model.getSearchString(), pod.getMetadata().getName())) {
-                    addSearchResultToModel(pod.getMetadata(), model, POD, pod.getMetadata().getName(), pod.getMetadata().getName(), "", pod.toString());
+                if (model.getSearchMatcher().matchesAny(pod.getMetadata().getName())) {
+                    addSearchResultToModel(pod.getMetadata(), model, POD, pod.getMetadata().getName(), pod.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -231,17 +359,16 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInPersistentVolumes(SearchModel model) {
-        V1PersistentVolumeList persistentVolumesList = kubeAPI.getV1PersistentVolumesList(model);
-        for (V1PersistentVolume persistentVolume : persistentVolumesList.getItems()) {
+        forEachSearchCandidate(model, PERSISTENT_VOLUME, V1PersistentVolume.class, consumer -> kubeAPI.forEachPersistentVolume(listPageSize, model, consumer), persistentVolume -> {
             try {
-                if (isStringsContainsSearchString(model.getSearchString(), persistentVolume.getMetadata().getName())) {
-                    addSearchResultToModel(persistentVolume.getMetadata(), model, PERSISTENT_VOLUME, persistentVolume.getMetadata().getName(), persistentVolume.getMetadata().getName(), "", persistentVolume.toString());
+                if (model.getSearchMatcher().matchesAny(persistentVolume.getMetadata().getName())) {
+                    addSearchResultToModel(persistentVolume.getMetadata(), model, PERSISTENT_VOLUME, persistentVolume.getMetadata().getName(), persistentVolume.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -250,17 +377,16 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInPersistentVolumeClaims(SearchModel model) {
-        V1PersistentVolumeClaimList persistentVolumeClaimsList = kubeAPI.getV1PersistentVolumeClaimsList(model.getSelectedNamespace(), model);
-        for (V1PersistentVolumeClaim persistentVolumeClaim : persistentVolumeClaimsList.getItems()) {
+        forEachSearchCandidate(model, PERSISTENT_VOLUME_CLAIM, V1PersistentVolumeClaim.class, consumer -> kubeAPI.forEachPersistentVolumeClaim(model.getSelectedNamespace(), listPageSize, model, consumer), persistentVolumeClaim -> {
             try {
-                if (isStringsContainsSearchString(model.getSearchString(), persistentVolumeClaim.getMetadata().getName())) {
-                    addSearchResultToModel(persistentVolumeClaim.getMetadata(), model, PERSISTENT_VOLUME_CLAIM, persistentVolumeClaim.getMetadata().getName(), persistentVolumeClaim.getMetadata().getName(), "", persistentVolumeClaim.toString());
+                if (model.getSearchMatcher().matchesAny(persistentVolumeClaim.getMetadata().getName())) {
+                    addSearchResultToModel(persistentVolumeClaim.getMetadata(), model, PERSISTENT_VOLUME_CLAIM, persistentVolumeClaim.getMetadata().getName(), persistentVolumeClaim.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -269,20 +395,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInServices(SearchModel model) {
-        V1ServiceList servicesList = kubeAPI.getV1ServicesList(model.getSelectedNamespace(), model);
-        for (V1Service service : servicesList.getItems()) {
+        forEachSearchCandidate(model, SERVICE, V1Service.class, consumer -> kubeAPI.forEachService(model.getSelectedNamespace(), listPageSize, model, consumer), service -> {
             try {
                 if (skipKubeNamespace(model, service.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), service.getMetadata().getName())) {
-                    addSearchResultToModel(service.getMetadata(), model, SERVICE, service.getMetadata().getName(), service.getMetadata().getName(), "", service.toString());
+                if (model.getSearchMatcher().matchesAny(service.getMetadata().getName())) {
+                    addSearchResultToModel(service.getMetadata(), model, SERVICE, service.getMetadata().getName(), service.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -291,25 +416,24 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInServiceAccounts(SearchModel model) {
-        V1ServiceAccountList serviceAccountsList = kubeAPI.getV1ServiceAccountsList(model.getSelectedNamespace(), model);
-        for (V1ServiceAccount serviceAccount : serviceAccountsList.getItems()) {
+        forEachSearchCandidate(model, SERVICE_ACCOUNT, V1ServiceAccount.class, consumer -> kubeAPI.forEachServiceAccount(model.getSelectedNamespace(), listPageSize, model, consumer), serviceAccount -> {
             try {
                 if (skipKubeNamespace(model, serviceAccount.getMetadata())) {
-                    continue;
+                    return;
                 }
                 StringJoiner additionalInfo = new StringJoiner(",", "[", "]");
-                if (isStringsContainsSearchString(model.getSearchString(), serviceAccount.getMetadata().getName())) {
+                if (model.getSearchMatcher().matchesAny(serviceAccount.getMetadata().getName())) {
                     if (ObjectUtils.isNotEmpty(serviceAccount.getSecrets())) {
                         serviceAccount.getSecrets().forEach(secretObject -> additionalInfo.add(secretObject.getName()));
                     }
                     addSearchResultToModel(serviceAccount.getMetadata(), model, SERVICE_ACCOUNT, serviceAccount.getMetadata().getName(), serviceAccount.getMetadata().getName(),
-                            "secrets " + additionalInfo.toString(), serviceAccount.toString());
+                            "secrets " + additionalInfo.toString());
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -318,18 +442,17 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInSecrets(SearchModel model) {
-        V1SecretList secretsList = kubeAPI.getV1SecretsList(model.getSelectedNamespace(), model);
-        for (V1Secret secret : secretsList.getItems()) {
+        forEachSearchCandidate(model, SECRET, V1Secret.class, consumer -> kubeAPI.forEachSecret(model.getSelectedNamespace(), listPageSize, model, consumer), secret -> {
             try {
                 if (skipKubeNamespace(model, secret.getMetadata())) {
-                    continue;
+                    return;
                 }
                 if (ObjectUtils.isNotEmpty(secret.getData())) {
                     secret.getData().forEach((secretName, secretValue) -> {
-                        if (isStringsContainsSearchString(model.getSearchString(), secret.getMetadata().getName(), secretName)) {
+                        if (model.getSearchMatcher().matchesAny(secret.getMetadata().getName(), secretName)) {
                             String secretType = secret.getType() == null ? "null" : secret.getType();
                             String foundString = secret.getMetadata().getName() + " [" + secretType + "] : " + secretName;
-                            addSearchResultToModel(secret.getMetadata(), model, SECRET, secret.getMetadata().getName(), foundString, new String(secretValue, UTF_8), secret.toString());
+                            addSearchResultToModel(secret.getMetadata(), model, SECRET, secret.getMetadata().getName(), foundString, new String(secretValue, UTF_8));
                         }
                     });
                 }
@@ -337,7 +460,7 @@ public class SearchService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -346,16 +469,15 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInConfigMaps(SearchModel model) {
-        V1ConfigMapList configMapsList = kubeAPI.getV1ConfigMapsList(model.getSelectedNamespace(), model);
-        for (V1ConfigMap configMap : configMapsList.getItems()) {
+        forEachSearchCandidate(model, CONFIG_MAP, V1ConfigMap.class, consumer -> kubeAPI.forEachConfigMap(model.getSelectedNamespace(), listPageSize, model, consumer), configMap -> {
             try {
                 if (skipKubeNamespace(model, configMap.getMetadata())) {
-                    continue;
+                    return;
                 }
                 if (ObjectUtils.isNotEmpty(configMap.getData())) {
                     configMap.getData().forEach((configName, configValue) -> {
-                        if (isStringsContainsSearchString(model.getSearchString(), configMap.getMetadata().getName(), configName, configValue)) {
-                            addSearchResultToModel(configMap.getMetadata(), model, CONFIG_MAP, configMap.getMetadata().getName(), configName, configValue, configMap.toString());
+                        if (model.getSearchMatcher().matchesAny(configMap.getMetadata().getName(), configName, configValue)) {
+                            addSearchResultToModel(configMap.getMetadata(), model, CONFIG_MAP, configMap.getMetadata().getName(), configName, configValue);
                         }
                     });
                 }
@@ -363,7 +485,7 @@ public class SearchService {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
 
@@ -373,20 +495,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInDaemonSets(SearchModel model) {
-        V1DaemonSetList daemonSetsList = kubeAPI.getV1DaemonSetList(model.getSelectedNamespace(), model);
-        for (V1DaemonSet daemonSet : daemonSetsList.getItems()) {
+        forEachSearchCandidate(model, DAEMON_SET, V1DaemonSet.class, consumer -> kubeAPI.forEachDaemonSet(model.getSelectedNamespace(), listPageSize, model, consumer), daemonSet -> {
             try {
                 if (skipKubeNamespace(model, daemonSet.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), daemonSet.getMetadata().getName())) {
-                    addSearchResultToModel(daemonSet.getMetadata(), model, DAEMON_SET, daemonSet.getMetadata().getName(), daemonSet.getMetadata().getName(), "", daemonSet.toString());
+                if (model.getSearchMatcher().matchesAny(daemonSet.getMetadata().getName())) {
+                    addSearchResultToModel(daemonSet.getMetadata(), model, DAEMON_SET, daemonSet.getMetadata().getName(), daemonSet.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -395,20 +516,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInDeployments(SearchModel model) {
-        V1DeploymentList deploymentsList = kubeAPI.getV1DeploymentList(model.getSelectedNamespace(), model);
-        for (V1Deployment deployment : deploymentsList.getItems()) {
+        forEachSearchCandidate(model, DEPLOYMENT, V1Deployment.class, consumer -> kubeAPI.forEachDeployment(model.getSelectedNamespace(), listPageSize, model, consumer), deployment -> {
             try {
                 if (skipKubeNamespace(model, deployment.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), deployment.getMetadata().getName())) {
-                    addSearchResultToModel(deployment.getMetadata(), model, DEPLOYMENT, deployment.getMetadata().getName(), deployment.getMetadata().getName(), "", deployment.toString());
+                if (model.getSearchMatcher().matchesAny(deployment.getMetadata().getName())) {
+                    addSearchResultToModel(deployment.getMetadata(), model, DEPLOYMENT, deployment.getMetadata().getName(), deployment.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -417,20 +537,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInReplicaSets(SearchModel model) {
-        V1ReplicaSetList replicaSetsList = kubeAPI.getV1ReplicaSetList(model.getSelectedNamespace(), model);
-        for (V1ReplicaSet replicaSet : replicaSetsList.getItems()) {
+        forEachSearchCandidate(model, REPLICA_SET, V1ReplicaSet.class, consumer -> kubeAPI.forEachReplicaSet(model.getSelectedNamespace(), listPageSize, model, consumer), replicaSet -> {
             try {
                 if (skipKubeNamespace(model, replicaSet.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), replicaSet.getMetadata().getName())) {
-                    addSearchResultToModel(replicaSet.getMetadata(), model, REPLICA_SET, replicaSet.getMetadata().getName(), replicaSet.getMetadata().getName(), "", replicaSet.toString());
+                if (model.getSearchMatcher().matchesAny(replicaSet.getMetadata().getName())) {
+                    addSearchResultToModel(replicaSet.getMetadata(), model, REPLICA_SET, replicaSet.getMetadata().getName(), replicaSet.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -439,20 +558,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInStatefulSets(SearchModel model) {
-        V1StatefulSetList statefulSetsList = kubeAPI.getV1StatefulSetList(model.getSelectedNamespace(), model);
-        for (V1StatefulSet statefulSet : statefulSetsList.getItems()) {
+        forEachSearchCandidate(model, STATEFUL_SET, V1StatefulSet.class, consumer -> kubeAPI.forEachStatefulSet(model.getSelectedNamespace(), listPageSize, model, consumer), statefulSet -> {
             try {
                 if (skipKubeNamespace(model, statefulSet.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), statefulSet.getMetadata().getName())) {
-                    addSearchResultToModel(statefulSet.getMetadata(), model, STATEFUL_SET, statefulSet.getMetadata().getName(), statefulSet.getMetadata().getName(), "", statefulSet.toString());
+                if (model.getSearchMatcher().matchesAny(statefulSet.getMetadata().getName())) {
+                    addSearchResultToModel(statefulSet.getMetadata(), model, STATEFUL_SET, statefulSet.getMetadata().getName(), statefulSet.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -461,20 +579,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInJobs(SearchModel model) {
-        V1JobList jobsList = kubeAPI.getV1JobList(model.getSelectedNamespace(), model);
-        for (V1Job job : jobsList.getItems()) {
+        forEachSearchCandidate(model, JOB, V1Job.class, consumer -> kubeAPI.forEachJob(model.getSelectedNamespace(), listPageSize, model, consumer), job -> {
             try {
                 if (skipKubeNamespace(model, job.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), job.getMetadata().getName())) {
-                    addSearchResultToModel(job.getMetadata(), model, JOB, job.getMetadata().getName(), job.getMetadata().getName(), "", job.toString());
+                if (model.getSearchMatcher().matchesAny(job.getMetadata().getName())) {
+                    addSearchResultToModel(job.getMetadata(), model, JOB, job.getMetadata().getName(), job.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -483,20 +600,19 @@ public class SearchService {
      * @param model - search model
      */
     private void searchInClusterRoleBindings(SearchModel model) {
-        V1beta1ClusterRoleBindingList clusterRoleBindingsList = kubeAPI.getV1ClusterRolesBindingsList(model);
-        for (V1beta1ClusterRoleBinding binding : clusterRoleBindingsList.getItems()) {
+        forEachSearchCandidate(model, CLUSTER_ROLE_BINDING, V1beta1ClusterRoleBinding.class, consumer -> kubeAPI.forEachClusterRoleBinding(listPageSize, model, consumer), binding -> {
             try {
                 if (skipKubeNamespace(model, binding.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), binding.getMetadata().getName())) {
-                    addSearchResultToModel(binding.getMetadata(), model, ROLE_BINDING, binding.getMetadata().getName(), binding.getMetadata().getName(), "", binding.toString());
+                if (model.getSearchMatcher().matchesAny(binding.getMetadata().getName())) {
+                    addSearchResultToModel(binding.getMetadata(), model, CLUSTER_ROLE_BINDING, binding.getMetadata().getName(), binding.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -505,20 +621,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInClusterRoles(SearchModel model) {
-        V1beta1ClusterRoleList clusterRolesList = kubeAPI.getV1ClusterRolesList(model);
-        for (V1beta1ClusterRole clusterRole : clusterRolesList.getItems()) {
+        forEachSearchCandidate(model, CLUSTER_ROLE, V1beta1ClusterRole.class, consumer -> kubeAPI.forEachClusterRole(listPageSize, model, consumer), clusterRole -> {
             try {
                 if (skipKubeNamespace(model, clusterRole.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), clusterRole.getMetadata().getName())) {
-                    addSearchResultToModel(clusterRole.getMetadata(), model, CLUSTER_ROLE, clusterRole.getMetadata().getName(), clusterRole.getMetadata().getName(), "", clusterRole.toString());
+                if (model.getSearchMatcher().matchesAny(clusterRole.getMetadata().getName())) {
+                    addSearchResultToModel(clusterRole.getMetadata(), model, CLUSTER_ROLE, clusterRole.getMetadata().getName(), clusterRole.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -527,20 +642,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInRoleBindings(SearchModel model) {
-        V1beta1RoleBindingList rolesBindingsList = kubeAPI.getV1RolesBindingList(model.getSelectedNamespace(), model);
-        for (V1beta1RoleBinding roleBinding : rolesBindingsList.getItems()) {
+        forEachSearchCandidate(model, ROLE_BINDING, V1beta1RoleBinding.class, consumer -> kubeAPI.forEachRoleBinding(model.getSelectedNamespace(), listPageSize, model, consumer), roleBinding -> {
             try {
                 if (skipKubeNamespace(model, roleBinding.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), roleBinding.getMetadata().getName())) {
-                    addSearchResultToModel(roleBinding.getMetadata(), model, ROLE_BINDING, roleBinding.getMetadata().getName(), roleBinding.getMetadata().getName(), "", roleBinding.toString());
+                if (model.getSearchMatcher().matchesAny(roleBinding.getMetadata().getName())) {
+                    addSearchResultToModel(roleBinding.getMetadata(), model, ROLE_BINDING, roleBinding.getMetadata().getName(), roleBinding.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -549,20 +663,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInRoles(SearchModel model) {
-        V1beta1RoleList rolesList = kubeAPI.getV1RolesList(model.getSelectedNamespace(), model);
-        for (V1beta1Role role : rolesList.getItems()) {
+        forEachSearchCandidate(model, ROLE, V1beta1Role.class, consumer -> kubeAPI.forEachRole(model.getSelectedNamespace(), listPageSize, model, consumer), role -> {
             try {
                 if (skipKubeNamespace(model, role.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), role.getMetadata().getName())) {
-                    addSearchResultToModel(role.getMetadata(), model, ROLE, role.getMetadata().getName(), role.getMetadata().getName(), "", role.toString());
+                if (model.getSearchMatcher().matchesAny(role.getMetadata().getName())) {
+                    addSearchResultToModel(role.getMetadata(), model, ROLE, role.getMetadata().getName(), role.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -571,20 +684,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInNetworkPolicies(SearchModel model) {
-        V1NetworkPolicyList networkPoliciesList = kubeAPI.getV1NetworkPolicyList(model.getSelectedNamespace(), model);
-        for (V1NetworkPolicy policy : networkPoliciesList.getItems()) {
+        forEachSearchCandidate(model, NETWORK_POLICY, V1NetworkPolicy.class, consumer -> kubeAPI.forEachNetworkPolicy(model.getSelectedNamespace(), listPageSize, model, consumer), policy -> {
             try {
                 if (skipKubeNamespace(model, policy.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), policy.getMetadata().getName())) {
-                    addSearchResultToModel(policy.getMetadata(), model, NETWORK_POLICY, policy.getMetadata().getName(), policy.getMetadata().getName(), "", policy.toString());
+                if (model.getSearchMatcher().matchesAny(policy.getMetadata().getName())) {
+                    addSearchResultToModel(policy.getMetadata(), model, NETWORK_POLICY, policy.getMetadata().getName(), policy.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -593,20 +705,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInPodDistributionBudgets(SearchModel model) {
-        V1beta1PodDisruptionBudgetList budgetsList = kubeAPI.getV1beta1PodDisruptionBudgetsList(model.getSelectedNamespace(), model);
-        for (V1beta1PodDisruptionBudget budget : budgetsList.getItems()) {
+        forEachSearchCandidate(model, POD_DISRUPTION_BUDGET, V1beta1PodDisruptionBudget.class, consumer -> kubeAPI.forEachPodDisruptionBudget(model.getSelectedNamespace(), listPageSize, model, consumer), budget -> {
             try {
                 if (skipKubeNamespace(model, budget.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), budget.getMetadata().getName())) {
-                    addSearchResultToModel(budget.getMetadata(), model, POD_DISRUPTION_BUDGET, budget.getMetadata().getName(), budget.getMetadata().getName(), "", budget.toString());
+                if (model.getSearchMatcher().matchesAny(budget.getMetadata().getName())) {
+                    addSearchResultToModel(budget.getMetadata(), model, POD_DISRUPTION_BUDGET, budget.getMetadata().getName(), budget.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
     /**
@@ -615,20 +726,19 @@ public class SearchService {
      * @param model - search model.
      */
     private void searchInPodSecurityPolicies(SearchModel model) {
-        V1beta1PodSecurityPolicyList policiesList = kubeAPI.getPolicyV1beta1PodSecurityPolicyList(model);
-        for (V1beta1PodSecurityPolicy policy : policiesList.getItems()) {
+        forEachSearchCandidate(model, POD_SECURITY_POLICY, V1beta1PodSecurityPolicy.class, consumer -> kubeAPI.forEachPodSecurityPolicy(listPageSize, model, consumer), policy -> {
             try {
                 if (skipKubeNamespace(model, policy.getMetadata())) {
-                    continue;
+                    return;
                 }
-                if (isStringsContainsSearchString(model.getSearchString(), policy.getMetadata().getName())) {
-                    addSearchResultToModel(policy.getMetadata(), model, POD_SECURITY_POLICY, policy.getMetadata().getName(), policy.getMetadata().getName(), "", policy.toString());
+                if (model.getSearchMatcher().matchesAny(policy.getMetadata().getName())) {
+                    addSearchResultToModel(policy.getMetadata(), model, POD_SECURITY_POLICY, policy.getMetadata().getName(), policy.getMetadata().getName(), "");
                 }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
             }
-        }
+        });
     }
 
 
@@ -639,20 +749,21 @@ public class SearchService {
      */
     private void searchInEnvironmentVariables(SearchModel model) {
 
-        List<V1Pod> podList = kubeAPI.getV1PodsList(model.getSelectedNamespace(), model).getItems();
-        for (V1Pod pod : podList) {
+        NativeEnvVarsCollector nativeEnvVarsCollector = new NativeEnvVarsCollector(model);
+        kubeAPI.forEachPod(model.getSelectedNamespace(), listPageSize, model, pod -> {
 
             //skips search in kube- namespace
             if (skipKubeNamespace(model, pod.getMetadata())) {
-                continue;
+                return;
             }
+            Set<String> foundEnvVarNames = new HashSet<>();
             try {
                 for (V1Container container : pod.getSpec().getContainers()) {
                     if (ObjectUtils.isNotEmpty(container.getEnv())) {
                         for (V1EnvVar v1EnvVar : container.getEnv()) {
                             if (ObjectUtils.isEmpty(v1EnvVar.getValueFrom())) {
                                 //get simple Environment variables
-                                composeValueFromToSearchResult(v1EnvVar, pod, container, model, null, null, null);
+                                composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, null, null, null);
                             } else {
                                 V1EnvVarSource valueFrom = v1EnvVar.getValueFrom();
 
@@ -662,15 +773,15 @@ public class SearchService {
                                     String declaredField = fieldPath.substring(fieldPath.lastIndexOf(".") + 1);
                                     if (valueFrom.getFieldRef().getFieldPath().startsWith("metadata")) {
                                         String envValueFromFieldObject = getEnvValueFromFieldObject(V1ObjectMeta.class.getDeclaredField(declaredField), pod.getMetadata());
-                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, "fieldRef", fieldPath, envValueFromFieldObject);
+                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "fieldRef", fieldPath, envValueFromFieldObject);
                                     }
                                     if (fieldPath.startsWith("status")) {
                                         String envValueFromFieldObject = getEnvValueFromFieldObject(V1PodStatus.class.getDeclaredField(declaredField), pod.getStatus());
-                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, "fieldRef", fieldPath, envValueFromFieldObject);
+                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "fieldRef", fieldPath, envValueFromFieldObject);
                                     }
                                     if (fieldPath.startsWith("spec")) {
                                         String envValueFromFieldObject = getEnvValueFromFieldObject(V1PodSpec.class.getDeclaredField(declaredField), pod.getSpec());
-                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, "fieldRef", fieldPath, envValueFromFieldObject);
+                                        composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "fieldRef", fieldPath, envValueFromFieldObject);
                                     }
                                 }
 
@@ -681,7 +792,7 @@ public class SearchService {
                                     valueFromValue.append("{ containerName: ").append(resourceFieldRef.getContainerName() == null ? "null" : resourceFieldRef.getContainerName()).append(", ");
                                     valueFromValue.append("divisor: ").append(resourceFieldRef.getContainerName() == null ? "null" : resourceFieldRef.getContainerName()).append(", ");
                                     valueFromValue.append("resource: ").append(resourceFieldRef.getContainerName() == null ? "null" : resourceFieldRef.getContainerName()).append(" }");
-                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, "resourceFieldRef", "", valueFromValue.toString());
+                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "resourceFieldRef", "", valueFromValue.toString());
                                 }
 
                                 //get Environment variables from ConfigMapKeyRef
@@ -690,7 +801,7 @@ public class SearchService {
                                     StringBuilder valueFromValue = new StringBuilder();
                                     valueFromValue.append("{ key: ").append(configMapKeyRef.getKey() == null ? "null" : configMapKeyRef.getKey()).append(", ");
                                     valueFromValue.append("name: ").append(configMapKeyRef.getName() == null ? "null" : configMapKeyRef.getName()).append(" }");
-                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, "configMapKeyRef", "", valueFromValue.toString());
+                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "configMapKeyRef", "", valueFromValue.toString());
                                 }
 
                                 //get Environment variables from SecretKeyRef
@@ -699,7 +810,7 @@ public class SearchService {
                                     StringBuilder valueFromValue = new StringBuilder();
                                     valueFromValue.append("{ key: ").append(secretKeyRef.getKey() == null ? "null" : secretKeyRef.getKey()).append(", ");
                                     valueFromValue.append("name: ").append(secretKeyRef.getName() == null ? "null" : secretKeyRef.getName()).append(" }");
-                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, "secretKeyRef", "", valueFromValue.toString());
+                                    composeValueFromToSearchResult(v1EnvVar, pod, container, model, foundEnvVarNames, "secretKeyRef", "", valueFromValue.toString());
                                 }
                             }
                         }
@@ -711,23 +822,27 @@ public class SearchService {
             }
             //collect all env vars from pod with exec
             if (!model.isSkipNativeEnvVars()) {
-                mergeNativeEnvVarsToSearchResult(pod, model);
+                nativeEnvVarsCollector.submit(pod, foundEnvVarNames);
             }
-        }
+            nativeEnvVarsCollector.mergeCompleted();
+        });
+        nativeEnvVarsCollector.mergeAll();
     }
 
     /**
      * Check, calculate and compose pod valueFrom field to search model.
      *
-     * @param v1EnvVar        - valueFrom Environment Variable
-     * @param pod             - pod
-     * @param container       - container
-     * @param model           - search model
-     * @param valueFromSource - environment from value source
-     * @param valueFromValue  - environment from value
-     * @param envValue        - environment value
+     * @param v1EnvVar         - valueFrom Environment Variable
+     * @param pod              - pod
+     * @param container        - container
+     * @param model            - search model
+     * @param foundEnvVarNames - names of pod environment variables already added to search model
+     * @param valueFromSource  - environment from value source
+     * @param valueFromValue   - environment from value
+     * @param envValue         - environment value
      */
-    private void composeValueFromToSearchResult(V1EnvVar v1EnvVar, V1Pod pod, V1Container container, SearchModel model, String valueFromSource, String valueFromValue, String envValue) {
+    private void composeValueFromToSearchResult(V1EnvVar v1EnvVar, V1Pod pod, V1Container container, SearchModel model, Set<String> foundEnvVarNames,
+                                                String valueFromSource, String valueFromValue, String envValue) {
         String envName, additionalInfo = "";
         envName = v1EnvVar.getName().toLowerCase();
         if (StringUtils.isNotBlank(valueFromSource)) {
@@ -736,25 +851,37 @@ public class SearchService {
             additionalInfo = "Simple Environment Variable";
             envValue = v1EnvVar.getValue().toLowerCase();
         }
-        if (isStringsContainsSearchString(model.getSearchString(), envName, envValue)) {
+        if (model.getSearchMatcher().matchesAny(envName, envValue)) {
             String resourceName = pod.getMetadata().getName() + " [" + container.getName() + "]";
             String composedFoundString = v1EnvVar.getName() + "=" + envValue;
-            addSearchResultToModel(pod.getMetadata(), model, ENV_VARIABLE, resourceName, composedFoundString, additionalInfo, pod.toString());
+            addSearchResultToModel(pod.getMetadata(), model, ENV_VARIABLE, resourceName, composedFoundString, additionalInfo);
+            foundEnvVarNames.add(v1EnvVar.getName());
         }
     }
 
     /**
      * Executes env command on pod, and collects native environment variables.
+     * Exec session is destroyed if it is not finished in {@code nativeEnvVarsTimeoutSeconds}.
+     * Exec session is destroyed as well when search is cancelled, pods are not executed at all after cancellation.
+     * Runs in native env vars executor, so errors are returned with result and not added to search model.
      *
-     * @param pod   - kubernetes pod
-     * @param model - search model
-     * @return - properties object with key=value native environment variables map.
+     * @param pod                - kubernetes pod
+     * @param cancellationHandle - search cancellation handle.
+     * @return - pod with properties object with key=value native environment variables map or with exception.
      */
-    private Properties getPodEnvironmentVars(V1Pod pod, SearchModel model) {
-        Properties envVars = new Properties();
+    private PodEnvironmentVars getPodEnvironmentVars(V1Pod pod, CancellationHandle cancellationHandle) {
+        PodEnvironmentVars podEnvironmentVars = new PodEnvironmentVars(pod);
+        if (cancellationHandle.isCancelled()) {
+            return podEnvironmentVars;
+        }
         String[] command = new String[]{"env"};
+        Process process = null;
+        ScheduledFuture<?> deadline = null;
+        Runnable unregisterCancelAction = null;
         try {
-            Process process = exec.exec(pod, command, false);
+            process = exec.exec(pod, command, false);
+            deadline = watchdogTaskScheduler.schedule(process::destroy, Instant.now().plusSeconds(nativeEnvVarsTimeoutSeconds));
+            unregisterCancelAction = cancellationHandle.onCancel(process::destroy);
             BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
             String line;
             while ((line = br.readLine()) != null) {
@@ -762,45 +889,172 @@ public class SearchService {
                 if (idx != -1) {
                     String key = line.substring(0, idx);
                     String value = line.substring(idx + 1);
-                    envVars.setProperty(key, value);
+                    podEnvironmentVars.envVars.setProperty(key, value);
                 }
             }
+            if (deadline.isDone()) {
+                podEnvironmentVars.exception = getNativeEnvVarsTimeoutException(pod);
+            }
         } catch (ApiException | IOException | RuntimeException e) {
-            model.addSearchException(e);
-            logger.error(e.getMessage(), e);
+            podEnvironmentVars.exception = Objects.nonNull(deadline) && deadline.isDone() ? getNativeEnvVarsTimeoutException(pod) : e;
+        } finally {
+            if (Objects.nonNull(deadline)) {
+                deadline.cancel(false);
+            }
+            if (Objects.nonNull(unregisterCancelAction)) {
+                unregisterCancelAction.run();
+            }
+            if (Objects.nonNull(process)) {
+                process.destroy();
+            }
         }
-        return envVars;
+        return podEnvironmentVars;
+    }
+
+    private TimeoutException getNativeEnvVarsTimeoutException(V1Pod pod) {
+        return new TimeoutException(String.format("Native environment variables of pod %s/%s were not collected in %s seconds.",
+                pod.getMetadata().getNamespace(), pod.getMetadata().getName(), nativeEnvVarsTimeoutSeconds));
     }
 
 
     /**
-     * Merge native environment variables (env) into search model.
+     * Merge native environment variables (env) into search model. Skips variables which were already found in pod spec.
      *
-     * @param pod   - kubernetes pod
-     * @param model - search model
+     * @param pod                - kubernetes pod
+     * @param podEnvironmentVars - native environment variables of pod
+     * @param foundEnvVarNames   - names of pod environment variables already added to search model
+     * @param model              - search model
      */
-    private void mergeNativeEnvVarsToSearchResult(V1Pod pod, SearchModel model) {
-        Properties podEnvironmentVars = getPodEnvironmentVars(pod, model);
-        //copy list, because concurrent modification exception
-        List<SearchResult> searchResultList = new ArrayList<>(model.getSearchResults());
+    private void mergeNativeEnvVarsToSearchResult(V1Pod pod, Properties podEnvironmentVars, Set<String> foundEnvVarNames, SearchModel model) {
         for (Map.Entry<Object, Object> entry : podEnvironmentVars.entrySet()) {
             String key = (String) entry.getKey(), envValue = (String) entry.getValue();
-            boolean isEnvVarNotFound = true;
-            for (SearchResult searchResult : searchResultList) {
-                //Check if environment variable already exists in search model
-                if (searchResult.getResourceName().startsWith(pod.getMetadata().getName()) && searchResult.getFoundString().startsWith(key)) {
-                    isEnvVarNotFound = false;
-                    break;
-                }
-            }
             //add new native environment variable
-            if (isEnvVarNotFound && isStringsContainsSearchString(model.getSearchString(), key, envValue)) {
+            if (!foundEnvVarNames.contains(key) && model.getSearchMatcher().matchesAny(key, envValue)) {
                 String composedFoundString = key + "=" + envValue;
-                addSearchResultToModel(pod.getMetadata(), model, ENV_VARIABLE, pod.getMetadata().getName(), composedFoundString, "Native Environment Variable", pod.toString());
+                addSearchResultToModel(pod.getMetadata(), model, ENV_VARIABLE, pod.getMetadata().getName(), composedFoundString, "Native Environment Variable");
             }
         }
     }
 
+    /**
+     * Native environment variables of pod or exception if they cannot be collected.
+     */
+    private static class PodEnvironmentVars {
+
+        private final V1Pod pod;
+        private final Properties envVars = new Properties();
+        private Exception exception;
+
+        private PodEnvironmentVars(V1Pod pod) {
+            this.pod = pod;
+        }
+    }
+
+    /**
+     * Collects native environment variables of pods on bounded native env vars executor.
+     * Completed pods are merged into search model in the search thread, so search model is not shared between threads.
+     */
+    private class NativeEnvVarsCollector {
+
+        private final SearchModel model;
+        private final CompletionService<PodEnvironmentVars> completionService = new ExecutorCompletionService<>(nativeEnvVarsTaskExecutor);
+        private final List<Future<PodEnvironmentVars>> submitted = new ArrayList<>();
+        private final Map<String, Set<String>> foundEnvVarNamesByPodUid = new HashMap<>();
+        private int merged;
+
+        private NativeEnvVarsCollector(SearchModel model) {
+            this.model = model;
+        }
+
+        /**
+         * Submits pod exec and remembers env vars found in pod spec, to skip them at merge.
+         *
+         * @param pod              - kubernetes pod
+         * @param foundEnvVarNames - names of pod environment variables already added to search model
+         */
+        private void submit(V1Pod pod, Set<String> foundEnvVarNames) {
+            foundEnvVarNamesByPodUid.put(pod.getMetadata().getUid(), foundEnvVarNames);
+            submitted.add(completionService.submit(() -> getPodEnvironmentVars(pod, model.getCancellationHandle())));
+        }
+
+        /**
+         * Merges already completed pods without waiting.
+         */
+        private void mergeCompleted() {
+            Future<PodEnvironmentVars> completed;
+            while (Objects.nonNull(completed = completionService.poll())) {
+                merge(completed);
+            }
+        }
+
+        /**
+         * Waits for all submitted pods and merges them. Pending pods are cancelled if search thread is interrupted.
+         */
+        private void mergeAll() {
+            while (merged < submitted.size()) {
+                try {
+                    merge(completionService.take());
+                } catch (InterruptedException e) {
+                    cancel();
+                    Thread.currentThread().interrupt();
+                    model.addException("Native environment variables search was interrupted.", e);
+                    return;
+                }
+            }
+        }
+
+        private void cancel() {
+            submitted.forEach(future -> future.cancel(true));
+        }
+
+        private void merge(Future<PodEnvironmentVars> completed) {
+            merged++;
+            try {
+                PodEnvironmentVars podEnvironmentVars = completed.get();
+                Set<String> foundEnvVarNames = foundEnvVarNamesByPodUid.remove(podEnvironmentVars.pod.getMetadata().getUid());
+                if (model.isCancelled()) {
+                    //exec sessions of cancelled search are destroyed, their output is incomplete
+                    return;
+                }
+                if (Objects.nonNull(podEnvironmentVars.exception)) {
+                    model.addSearchException(podEnvironmentVars.exception);
+                    logger.error(podEnvironmentVars.exception.getMessage(), podEnvironmentVars.exception);
+                } else {
+                    mergeNativeEnvVarsToSearchResult(podEnvironmentVars.pod, podEnvironmentVars.envVars, foundEnvVarNames, model);
+                }
+            } catch (ExecutionException | CancellationException | InterruptedException e) {
+                model.addSearchException(e);
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+
+    /**
+     * Returns full definition of found object. Object is fetched from API server on demand and its definition is cached by uid and resourceVersion of fetched object.
+     * Object could be changed after search, then its current definition is returned. Object re-created with the same name is another object and is not shown.
+     *
+     * @param reference - reference to found object.
+     * @param model     - search model.
+     * @return - object definition or message if object does not exist anymore.
+     */
+    public String getFullDefinition(ResourceReference reference, SearchModel model) {
+        String fullDefinition = fullDefinitionsCache.getIfPresent(reference.getVersionKey());
+        if (Objects.nonNull(fullDefinition)) {
+            return fullDefinition;
+        }
+        Object object = kubeAPI.getObject(reference.getResourceType(), reference.getNamespace(), reference.getName(), model);
+        if (Objects.isNull(object)) {
+            return String.format("%s %s was not found. It could be deleted after search.", reference.getResourceType().getKind(), reference.getName());
+        }
+        V1ObjectMeta meta = ((KubernetesObject) object).getMetadata();
+        if (!Objects.equals(meta.getUid(), reference.getUid())) {
+            return String.format("%s %s was deleted after search. Object with the same name was created again.", reference.getResourceType().getKind(), reference.getName());
+        }
+        fullDefinition = object.toString();
+        fullDefinitionsCache.put(new ResourceReference(reference.getResourceType(), meta).getVersionKey(), fullDefinition);
+        return fullDefinition;
+    }
 
     /**
      * Add new found variable/text/string to search result.
@@ -812,7 +1066,7 @@ public class SearchService {
      * @param foundString    - found string
      * @param additionalInfo - additional info
      */
-    private void addSearchResultToModel(V1ObjectMeta meta, SearchModel model, Resource resource, String resourceName, String foundString, String additionalInfo, String fullDefinition) {
+    private void addSearchResultToModel(V1ObjectMeta meta, SearchModel model, Resource resource, String resourceName, String foundString, String additionalInfo) {
         SearchResult newSearchResult = new SearchResult(model.getSearchResults().size() + 1)
                 .setNamespace(meta.getNamespace() == null ? "N/A" : meta.getNamespace())
                 .setResourceType(resource)
@@ -820,27 +1074,11 @@ public class SearchService {
                 .setFoundString(foundString)
                 .setAdditionalInfo(additionalInfo)
                 .setCreationTime(getParsedCreationTime(meta.getCreationTimestamp()))
-                .setFullDefinition(fullDefinition);
+                .setResourceReference(new ResourceReference(resource == ENV_VARIABLE ? POD : resource, meta));
         model.addSearchResult(newSearchResult)
                 .addResourceNameFilter(meta.getName());
     }
 
-    /**
-     * Checks if searched string contains in strings.
-     *
-     * @param searchString - searched string.
-     * @param strings      - searched strings.
-     * @return - true is searches string contains in searched strings.
-     */
-    private boolean isStringsContainsSearchString(String searchString, String... strings) {
-        for (String s : strings) {
-            if (StringUtils.containsIgnoreCase(s, searchString)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String getParsedCreationTime(DateTime dateTime) {
         return dateTime.toString("dd.MM.yyyy HH:mm:ss");
     }
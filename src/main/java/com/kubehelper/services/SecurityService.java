@@ -19,19 +19,17 @@ package com.kubehelper.services;
 
 import com.kubehelper.common.KubeAPI;
 import com.kubehelper.common.Resource;
+import com.kubehelper.domain.core.RBACMatrix;
+import com.kubehelper.domain.core.RBACSubject;
 import com.kubehelper.domain.models.SecurityModel;
 import com.kubehelper.domain.results.ContainerSecurityResult;
 import com.kubehelper.domain.results.PodSecurityContextResult;
 import com.kubehelper.domain.results.PodSecurityPoliciesResult;
+import com.kubehelper.domain.results.RBACPermissionResult;
 import com.kubehelper.domain.results.RBACResult;
 import com.kubehelper.domain.results.RoleResult;
 import com.kubehelper.domain.results.RoleRuleResult;
 import com.kubehelper.domain.results.ServiceAccountResult;
-import io.fabric8.kubernetes.api.model.rbac.ClusterRoleBinding;
-import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
-import io.fabric8.kubernetes.api.model.rbac.Subject;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.kubernetes.client.openapi.models.V1Container;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1ObjectReference;
@@ -53,6 +51,8 @@ import io.kubernetes.client.openapi.models.V1beta1Role;
 import io.kubernetes.client.openapi.models.V1beta1RoleBinding;
 import io.kubernetes.client.openapi.models.V1beta1RoleBindingList;
 import io.kubernetes.client.openapi.models.V1beta1RoleList;
+import io.kubernetes.client.openapi.models.V1beta1RoleRef;
+import io.kubernetes.client.openapi.models.V1beta1Subject;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
 import org.joda.time.DateTime;
@@ -62,7 +62,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -83,10 +85,11 @@ public class SecurityService {
     @Autowired
     private KubeAPI kubeAPI;
 
-    private KubernetesClient fabricClient = new DefaultKubernetesClient();
+    @Autowired
+    private RBACMatrixService rbacMatrixService;
 
     public void getRoles(SecurityModel model) {
-        model.getRolesResults().clear();
+        model.setRolesResults(new HashMap<>());
         model.getSearchExceptions().clear();
         searchInClusterRoles(model);
         searchInRoles(model);
@@ -97,9 +100,11 @@ public class SecurityService {
     public void getRBACs(SecurityModel model) {
         model.getRbacsResults().clear();
         model.getSearchExceptions().clear();
-        searchForRBACsInRoles(model);
-        if ("all".equals(model.getSelectedRBACsNamespace())) {
-            searchForRBACsInClusterRoles(model);
+        boolean withClusterRoles = "all".equals(model.getSelectedRBACsNamespace());
+        Map<String, List<V1beta1Subject>> subjectsByRoleRef = getSubjectsByRoleRef(model, withClusterRoles);
+        searchForRBACsInRoles(model, subjectsByRoleRef);
+        if (withClusterRoles) {
+            searchForRBACsInClusterRoles(model, subjectsByRoleRef);
         }
     }
 
@@ -127,18 +132,48 @@ public class SecurityService {
         searchInServiceAccounts(model);
     }
 
+    /**
+     * Finds subjects which can perform verb on resource in selected namespace. Cluster wide grants are always included.
+     *
+     * @param model - security model with query.
+     */
+    public void whoCan(SecurityModel model) {
+        model.getSearchExceptions().clear();
+        model.setWhoCanResults(rbacMatrixService.whoCan(model, StringUtils.trim(model.getWhoCanVerb()), StringUtils.trim(model.getWhoCanApiGroup()),
+                StringUtils.trim(model.getWhoCanResource()), StringUtils.trim(model.getWhoCanResourceName()), model.getSelectedWhoCanNamespace()));
+    }
+
+    /**
+     * Finds all permissions of subject. Namespace is part of ServiceAccount subject only.
+     *
+     * @param model - security model with subject.
+     */
+    public void whatCan(SecurityModel model) {
+        model.getWhatCanResults().clear();
+        model.getSearchExceptions().clear();
+        String kind = model.getWhatCanSubjectKind();
+        String namespace = "ServiceAccount".equals(kind) ? StringUtils.trim(model.getWhatCanSubjectNamespace()) : null;
+        RBACSubject subject = new RBACSubject(kind, namespace, StringUtils.trim(model.getWhatCanSubjectName()));
+        rbacMatrixService.whatCan(model, subject).forEach((scope, permissions) -> permissions.forEach(permission ->
+                model.getWhatCanResults().add(new RBACPermissionResult(model.getWhatCanResults().size() + 1)
+                        .setScope(RBACMatrix.CLUSTER_SCOPE.equals(scope) ? "Cluster" : scope)
+                        .setApiGroup(permission.getApiGroup())
+                        .setResource(permission.getResource())
+                        .setResourceName(permission.getResourceName())
+                        .setVerb(permission.getVerb()))));
+    }
+
 
     // RBAC =============
 
 
-    private void searchForRBACsInClusterRoles(SecurityModel model) {
+    private void searchForRBACsInClusterRoles(SecurityModel model, Map<String, List<V1beta1Subject>> subjectsByRoleRef) {
         try {
             V1beta1ClusterRoleList rolesList = kubeAPI.getV1ClusterRolesList(model);
             for (V1beta1ClusterRole role : rolesList.getItems()) {
-                Optional<ClusterRoleBinding> roleBinding =
-                        fabricClient.rbac().clusterRoleBindings().list().getItems().stream().filter(crb -> role.getMetadata().getName().equals(crb.getMetadata().getName())).findFirst();
-                if (roleBinding.isPresent() && Objects.nonNull(roleBinding.get().getSubjects())) {
-                    buildRoleAndRoleBindingWithSubjects(role.getRules(), roleBinding.get().getSubjects(), role.getMetadata(), model, CLUSTER_ROLE);
+                List<V1beta1Subject> subjects = subjectsByRoleRef.get(getRoleRefKey(CLUSTER_ROLE.getKind(), null, role.getMetadata().getName()));
+                if (Objects.nonNull(subjects)) {
+                    buildRoleAndRoleBindingWithSubjects(role.getRules(), subjects, role.getMetadata(), model, CLUSTER_ROLE);
                 } else {
                     buildRoleAndRoleBindingWithoutSubjects(role.getRules(), role.getMetadata(), model, CLUSTER_ROLE);
                 }
@@ -149,15 +184,14 @@ public class SecurityService {
         }
     }
 
-    private void searchForRBACsInRoles(SecurityModel model) {
+    private void searchForRBACsInRoles(SecurityModel model, Map<String, List<V1beta1Subject>> subjectsByRoleRef) {
         try {
             V1beta1RoleList rolesList = kubeAPI.getV1RolesList(model.getSelectedRBACsNamespace(), model);
             for (V1beta1Role role : rolesList.getItems()) {
                 String namespace = role.getMetadata().getNamespace() == null ? "default" : role.getMetadata().getNamespace();
-                Optional<RoleBinding> roleBinding =
-                        fabricClient.rbac().roleBindings().inNamespace(namespace).list().getItems().stream().filter(crb -> role.getMetadata().getName().equals(crb.getMetadata().getName())).findFirst();
-                if (roleBinding.isPresent() && Objects.nonNull(roleBinding.get().getSubjects())) {
-                    buildRoleAndRoleBindingWithSubjects(role.getRules(), roleBinding.get().getSubjects(), role.getMetadata(), model, ROLE);
+                List<V1beta1Subject> subjects = subjectsByRoleRef.get(getRoleRefKey(ROLE.getKind(), namespace, role.getMetadata().getName()));
+                if (Objects.nonNull(subjects)) {
+                    buildRoleAndRoleBindingWithSubjects(role.getRules(), subjects, role.getMetadata(), model, ROLE);
                 } else {
                     buildRoleAndRoleBindingWithoutSubjects(role.getRules(), role.getMetadata(), model, ROLE);
                 }
@@ -168,7 +202,46 @@ public class SecurityService {
         }
     }
 
-    private void buildRoleAndRoleBindingWithSubjects(List<V1beta1PolicyRule> rules, List<Subject> subjects, V1ObjectMeta roleMeta, SecurityModel model, Resource role) {
+    /**
+     * Lists bindings once and indexes their subjects by roleRef, so roles are joined with bindings in memory.
+     * Role bindings which refer to a ClusterRole are indexed together with cluster role bindings.
+     *
+     * @param model            - security model
+     * @param withClusterRoles - whether cluster role bindings should be listed.
+     * @return - map of roleRef key to subjects of all bindings with this roleRef.
+     */
+    private Map<String, List<V1beta1Subject>> getSubjectsByRoleRef(SecurityModel model, boolean withClusterRoles) {
+        Map<String, List<V1beta1Subject>> subjectsByRoleRef = new HashMap<>();
+        try {
+            for (V1beta1RoleBinding binding : kubeAPI.getV1RolesBindingList(model.getSelectedRBACsNamespace(), model).getItems()) {
+                String namespace = binding.getMetadata().getNamespace() == null ? "default" : binding.getMetadata().getNamespace();
+                addSubjectsByRoleRef(subjectsByRoleRef, binding.getRoleRef(), namespace, binding.getSubjects());
+            }
+            if (withClusterRoles) {
+                for (V1beta1ClusterRoleBinding binding : kubeAPI.getV1ClusterRolesBindingsList(model).getItems()) {
+                    addSubjectsByRoleRef(subjectsByRoleRef, binding.getRoleRef(), null, binding.getSubjects());
+                }
+            }
+        } catch (RuntimeException e) {
+            model.addSearchException(e);
+            logger.error(e.getMessage(), e);
+        }
+        return subjectsByRoleRef;
+    }
+
+    private void addSubjectsByRoleRef(Map<String, List<V1beta1Subject>> subjectsByRoleRef, V1beta1RoleRef roleRef, String namespace, List<V1beta1Subject> subjects) {
+        if (Objects.isNull(roleRef) || Objects.isNull(subjects)) {
+            return;
+        }
+        String roleNamespace = CLUSTER_ROLE.getKind().equals(roleRef.getKind()) ? null : namespace;
+        subjectsByRoleRef.computeIfAbsent(getRoleRefKey(roleRef.getKind(), roleNamespace, roleRef.getName()), key -> new ArrayList<>()).addAll(subjects);
+    }
+
+    private String getRoleRefKey(String kind, String namespace, String name) {
+        return String.join("/", kind, Objects.requireNonNullElse(namespace, ""), name);
+    }
+
+    private void buildRoleAndRoleBindingWithSubjects(List<V1beta1PolicyRule> rules, List<V1beta1Subject> subjects, V1ObjectMeta roleMeta, SecurityModel model, Resource role) {
         subjects.forEach(subject -> rules.forEach(rule -> {
             if (Optional.ofNullable(rule.getResources()).isPresent()) {
                 rule.getResources().forEach(resource -> {
@@ -190,7 +263,7 @@ public class SecurityService {
         });
     }
 
-    private void buildRBACResultWithSubject(SecurityModel model, V1ObjectMeta roleMeta, Subject subject, String resource, String verb, Resource role) {
+    private void buildRBACResultWithSubject(SecurityModel model, V1ObjectMeta roleMeta, V1beta1Subject subject, String resource, String verb, Resource role) {
         if (skipKubeNamespace(model, subject.getNamespace())) {
             return;
         }
@@ -255,7 +328,7 @@ public class SecurityService {
         V1beta1ClusterRoleBindingList clusterRoleBindingsList = kubeAPI.getV1ClusterRolesBindingsList(model);
         for (V1beta1ClusterRoleBinding binding : clusterRoleBindingsList.getItems()) {
             try {
-                model.addRoleSubjects(binding.getRoleRef().getName(), CLUSTER_ROLE, binding.getSubjects());
+                model.addRoleSubjects(binding.getRoleRef().getName(), null, CLUSTER_ROLE, binding.getSubjects());
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
@@ -267,7 +340,11 @@ public class SecurityService {
         V1beta1RoleBindingList rolesBindingsList = kubeAPI.getV1RolesBindingList(model.getSelectedRolesNamespace(), model);
         for (V1beta1RoleBinding roleBinding : rolesBindingsList.getItems()) {
             try {
-                model.addRoleSubjects(roleBinding.getRoleRef().getName(), ROLE, roleBinding.getSubjects());
+                if (CLUSTER_ROLE.getKind().equals(roleBinding.getRoleRef().getKind())) {
+                    model.addRoleSubjects(roleBinding.getRoleRef().getName(), null, CLUSTER_ROLE, roleBinding.getSubjects());
+                } else {
+                    model.addRoleSubjects(roleBinding.getRoleRef().getName(), roleBinding.getMetadata().getNamespace(), ROLE, roleBinding.getSubjects());
+                }
             } catch (RuntimeException e) {
                 model.addSearchException(e);
                 logger.error(e.getMessage(), e);
@@ -17,7 +17,10 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 */
 package com.kubehelper.viewmodels;
 
+import com.kubehelper.common.DesktopServerPush;
 import com.kubehelper.common.Global;
+import com.kubehelper.domain.core.CancellationHandle;
+import com.kubehelper.domain.core.CommandRun;
 import com.kubehelper.domain.filters.CommandsFilter;
 import com.kubehelper.domain.models.CommandsModel;
 import com.kubehelper.domain.results.CommandsResult;
@@ -37,6 +40,8 @@ import org.zkoss.bind.annotation.GlobalCommand;
 import org.zkoss.bind.annotation.Init;
 import org.zkoss.bind.annotation.NotifyChange;
 import org.zkoss.zk.ui.Component;
+import org.zkoss.zk.ui.Desktop;
+import org.zkoss.zk.ui.DesktopUnavailableException;
 import org.zkoss.zk.ui.Executions;
 import org.zkoss.zk.ui.Path;
 import org.zkoss.zk.ui.event.AfterSizeEvent;
@@ -58,6 +63,7 @@ import org.zkoss.zul.Div;
 import org.zkoss.zul.Footer;
 import org.zkoss.zul.Groupbox;
 import org.zkoss.zul.Html;
+import org.zkoss.zul.Label;
 import org.zkoss.zul.ListModelList;
 import org.zkoss.zul.Messagebox;
 import org.zkoss.zul.Slider;
@@ -73,6 +79,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -97,6 +104,12 @@ public class CommandsVM implements EventListener<Event> {
 
     private boolean wordWrapCommandsInHistory;
 
+    private boolean streamCommandOutput;
+    private volatile boolean commandInProgress;
+    private volatile CancellationHandle commandCancellationHandle;
+    private final StringBuilder pendingCommandOutput = new StringBuilder();
+    private boolean commandOutputFlushScheduled;
+
     private int centerLayoutHeight = 700;
 
     private ListModelList<CommandsResult> commandsResults = new ListModelList<>();
@@ -185,7 +198,7 @@ public class CommandsVM implements EventListener<Event> {
     @Command
     public void onSelectMainCommandsTabs(@ContextParam(ContextType.COMPONENT) Tabbox tabbox) {
         activeTab = tabbox.getSelectedTab().getId();
-        if ("commandsHistory".equals(activeTab) && StringUtils.isBlank(model.getSelectedCommandsHistoryRaw())) {
+        if ("commandsHistory".equals(activeTab) && model.isSelectedCommandsHistoryRawEmpty()) {
             commandsService.prepareCommandsHistory(model);
             redrawCommandsToolbarbuttons("commandsHistoriesToolbarID", model.getCommandsHistoriesSortedList(), getCommandToolbarButtonId(model.getSelectedCommandsHistoryLabel()));
             refreshHistoryOutput();
@@ -230,10 +243,130 @@ public class CommandsVM implements EventListener<Event> {
             Notification.show("Please select or put the command for execute.", "warning", notificationContainer, "top_right", 3000);
             return;
         }
+        if (commandInProgress) {
+            return;
+        }
+        if (streamCommandOutput) {
+            startStreamingRun();
+            return;
+        }
         commandsService.run(model);
         highlightCommandOutputBlock();
     }
 
+    /**
+     * Stops running command. Output received so far is kept and written to history.
+     */
+    @Command
+    public void stopCommand() {
+        if (commandInProgress && Objects.nonNull(commandCancellationHandle)) {
+            commandCancellationHandle.cancel("Command is stopped by user.");
+        }
+    }
+
+    /**
+     * Starts command in background thread. Output chunks are pushed to output block with ZK server push as soon as they are read.
+     */
+    private void startStreamingRun() {
+        Desktop desktop = Executions.getCurrent().getDesktop();
+        DesktopServerPush.acquire(desktop);
+        commandInProgress = true;
+        commandCancellationHandle = new CancellationHandle();
+        synchronized (pendingCommandOutput) {
+            pendingCommandOutput.setLength(0);
+            commandOutputFlushScheduled = false;
+        }
+        Div outputBlock = (Div) Path.getComponent("//indexPage/templateInclude/commandOutputId");
+        outputBlock.getChildren().clear();
+        BindUtils.postNotifyChange(this, "commandInProgress");
+
+        commandsService.runAsync(model, commandCancellationHandle, chunk -> onCommandOutputChunk(desktop, outputBlock, chunk))
+                .whenComplete((commandRun, e) -> scheduleOnDesktop(desktop, () -> onStreamingRunFinished(desktop, outputBlock, commandRun, e)));
+    }
+
+    /**
+     * Collects output chunk from reader thread and schedules its rendering. Chunks read before rendering are rendered together.
+     *
+     * @param desktop     - desktop with enabled server push.
+     * @param outputBlock - command output block.
+     * @param chunk       - output chunk.
+     */
+    private void onCommandOutputChunk(Desktop desktop, Div outputBlock, String chunk) {
+        synchronized (pendingCommandOutput) {
+            pendingCommandOutput.append(chunk);
+            if (commandOutputFlushScheduled) {
+                return;
+            }
+            commandOutputFlushScheduled = true;
+        }
+        scheduleOnDesktop(desktop, () -> flushCommandOutput(outputBlock));
+    }
+
+    /**
+     * Appends collected output chunks to output block. Called in desktop event thread.
+     *
+     * @param outputBlock - command output block.
+     */
+    private void flushCommandOutput(Div outputBlock) {
+        String output;
+        synchronized (pendingCommandOutput) {
+            output = pendingCommandOutput.toString();
+            pendingCommandOutput.setLength(0);
+            commandOutputFlushScheduled = false;
+        }
+        if (!output.isEmpty()) {
+            Label outputLabel = new Label(output);
+            outputLabel.setPre(true);
+            outputBlock.appendChild(outputLabel);
+        }
+    }
+
+    /**
+     * Finishes streaming run and shows full output the same way as for regular run. Called in desktop event thread.
+     *
+     * @param desktop     - desktop with enabled server push.
+     * @param outputBlock - command output block.
+     * @param commandRun  - command execution and history write error, null if run failed.
+     * @param e           - run error, null if run was successful.
+     */
+    private void onStreamingRunFinished(Desktop desktop, Div outputBlock, CommandRun commandRun, Throwable e) {
+        flushCommandOutput(outputBlock);
+        commandInProgress = false;
+        commandCancellationHandle = null;
+        DesktopServerPush.release(desktop);
+        if (Objects.nonNull(e)) {
+            model.addNotificationException("Error at command execution. Message: " + e.getMessage());
+            logger.error(e.getMessage(), e);
+        } else {
+            if (Objects.nonNull(commandRun.getHistoryException())) {
+                model.addNotificationException("Cannot write command to execution: Error." + commandRun.getHistoryException().getMessage());
+            }
+            model.setExecutedCommandOutput(commandRun.getExecution().getOutput());
+            highlightCommandOutputBlock();
+        }
+        checkRuntimeNotificationExceptions();
+        BindUtils.postNotifyChange(this, "commandInProgress");
+        BindUtils.postNotifyChange(this, "executedCommandOutput");
+    }
+
+    /**
+     * Runs task in desktop event thread. Used from command threads, which cannot update UI directly. Command is stopped if desktop is closed.
+     *
+     * @param desktop - desktop with enabled server push.
+     * @param task    - UI update.
+     */
+    private void scheduleOnDesktop(Desktop desktop, Runnable task) {
+        try {
+            Executions.schedule(desktop, event -> task.run(), new Event("onCommandProgress"));
+        } catch (DesktopUnavailableException e) {
+            logger.debug("Command output is not shown, desktop is closed. Message: {}", e.getMessage());
+            CancellationHandle cancellationHandle = commandCancellationHandle;
+            if (Objects.nonNull(cancellationHandle)) {
+                cancellationHandle.cancel("Desktop is closed.");
+            }
+        }
+    }
+
 
     /**
      * Filters searches and refresh total items label and search results view.
@@ -447,11 +580,49 @@ public class CommandsVM implements EventListener<Event> {
     public void refreshHistoryOutput() {
         Div historyOutputBlock = (Div) Path.getComponent("//indexPage/templateInclude/historyOutputId");
         historyOutputBlock.getChildren().clear();
-        String style = wordWrapCommandsInHistory ? "style=\"white-space: pre-wrap; word-break: keep-all;\"" : "";
-        historyOutputBlock.appendChild(new Html("<pre " + style + "><code>" + model.getSelectedCommandsHistoryRaw() + "</code></pre>"));
+        historyOutputBlock.appendChild(buildHistoryOutputHtml(model.getSelectedCommandsHistoryRaw()));
         BindUtils.postNotifyChange(this, ".");
     }
 
+    /**
+     * Builds block of commands history output. Blocks of loaded pages follow each other without margins.
+     *
+     * @param historyRaw - history text.
+     * @return - html component with history text.
+     */
+    private Html buildHistoryOutputHtml(String historyRaw) {
+        String style = wordWrapCommandsInHistory ? "style=\"margin: 0; white-space: pre-wrap; word-break: keep-all;\"" : "style=\"margin: 0;\"";
+        return new Html("<pre " + style + "><code>" + historyRaw + "</code></pre>");
+    }
+
+
+    /**
+     * Searches commands history by query. Empty query shows selected history again.
+     */
+    @Command
+    public void searchHistory() {
+        if (StringUtils.isBlank(model.getHistorySearchQuery())) {
+            if (StringUtils.isNotBlank(model.getSelectedCommandsHistoryRange()) || model.getCommandsHistories().containsKey(model.getSelectedCommandsHistoryLabel())) {
+                commandsService.changeHistoryRaw(model);
+            } else {
+                model.setSelectedCommandsHistoryRaw("");
+            }
+        } else {
+            commandsService.searchHistory(model);
+        }
+        refreshHistoryOutput();
+    }
+
+    /**
+     * Loads next page of history entries.
+     */
+    @Command
+    public void loadMoreHistory() {
+        String historyPage = commandsService.loadMoreHistory(model);
+        Div historyOutputBlock = (Div) Path.getComponent("//indexPage/templateInclude/historyOutputId");
+        historyOutputBlock.appendChild(buildHistoryOutputHtml(historyPage));
+        BindUtils.postNotifyChange(this, ".");
+    }
 
     /**
      * Changes commands history raw depends on selected Range in commandsModel.
@@ -760,6 +931,18 @@ public class CommandsVM implements EventListener<Event> {
         return model.getShells();
     }
 
+    public boolean isStreamCommandOutput() {
+        return streamCommandOutput;
+    }
+
+    public void setStreamCommandOutput(boolean streamCommandOutput) {
+        this.streamCommandOutput = streamCommandOutput;
+    }
+
+    public boolean isCommandInProgress() {
+        return commandInProgress;
+    }
+
 
     //  COMMANDS MANAGEMENT GETTERS AND SETTERS ================
 
@@ -824,6 +1007,18 @@ public class CommandsVM implements EventListener<Event> {
         return model.getCommandsHistoryRanges();
     }
 
+    public String getHistorySearchQuery() {
+        return model.getHistorySearchQuery();
+    }
+
+    public void setHistorySearchQuery(String historySearchQuery) {
+        model.setHistorySearchQuery(historySearchQuery);
+    }
+
+    public boolean isHistoryHasMore() {
+        return model.getHistoryCursor().hasMore();
+    }
+
     public boolean isShowOnlyCommandsInHistory() {
         return model.isShowOnlyCommandsInHistory();
     }
@@ -510,6 +510,23 @@ public class CronJobsVM implements EventListener<Event> {
         }
     }
 
+    /**
+     * Searches reports of all cron jobs by query. Empty query shows selected report again.
+     */
+    @Command
+    public void searchReports() {
+        if (StringUtils.isBlank(model.getReportsSearchQuery())) {
+            if (model.getCronJobsReports().containsKey(model.getSelectedReportLabel())) {
+                cronJobsService.changeReportRaw(model);
+            } else {
+                model.setSelectedReportRaw("");
+            }
+        } else {
+            cronJobsService.searchReports(model);
+        }
+        refreshReportsOutput();
+    }
+
     /**
      * Do wordWrap for reports output.
      */
@@ -644,6 +661,14 @@ public class CronJobsVM implements EventListener<Event> {
         model.setSelectedReportLabel(selectedReport);
     }
 
+    public String getReportsSearchQuery() {
+        return model.getReportsSearchQuery();
+    }
+
+    public void setReportsSearchQuery(String reportsSearchQuery) {
+        model.setReportsSearchQuery(reportsSearchQuery);
+    }
+
     public boolean isWordWrapInReport() {
         return wordWrapInReport;
     }
@@ -25,6 +25,7 @@ import com.kubehelper.domain.filters.LabelsGroupedColumnsFilter;
 import com.kubehelper.domain.filters.LabelsGroupedFilter;
 import com.kubehelper.domain.models.LabelsModel;
 import com.kubehelper.domain.results.LabelResult;
+import com.kubehelper.domain.results.SelectorResult;
 import com.kubehelper.services.CommonService;
 import com.kubehelper.services.LabelsService;
 import org.apache.commons.lang3.StringUtils;
@@ -121,6 +122,8 @@ public class LabelsVM implements EventListener {
     private ListModelList<LabelResult> searchResults = new ListModelList<>();
     private ListModelList<LabelsModel.GroupedLabel> groupedLabels = new ListModelList<>();
     private ListModelList<LabelsModel.GroupedLabelColumn> groupedLabelColumns = new ListModelList<>();
+    private ListModelList<SelectorResult> selectorsResults = new ListModelList<>();
+    private boolean showOrphanedSelectorsOnly;
 
     private LabelsModel model;
 
@@ -161,7 +164,7 @@ public class LabelsVM implements EventListener {
     }
 
     @Command
-    @NotifyChange({"totalItems", "searchResults", "filter", "groupedLabels", "groupedLabelsDetails", "totalGroupedItems"})
+    @NotifyChange({"totalItems", "searchResults", "filter", "groupedLabels", "groupedLabelsDetails", "totalGroupedItems", "selectorsResults", "totalSelectorsItems"})
     public void search() {
         model.setFilter(new LabelsFilter());
         labelsService.search(model, selectedResources);
@@ -199,6 +202,7 @@ public class LabelsVM implements EventListener {
             groupedLabels = new ListModelList<>(model.getGroupedLabels());
             groupedLabelColumns = new ListModelList<>();
         }
+        filterSelectors();
         sortResultsByNamespace();
         logger.debug("Found {} namespaces.", model.getNamespaces());
     }
@@ -268,6 +272,21 @@ public class LabelsVM implements EventListener {
         sortResultsByNamespace();
     }
 
+    /**
+     * Shows all found selectors or only orphaned selectors, which do not match any object.
+     */
+    @Command
+    @NotifyChange({"totalSelectorsItems", "selectorsResults"})
+    public void filterSelectors() {
+        selectorsResults = new ListModelList<>();
+        for (SelectorResult selectorResult : model.getSelectorsResults()) {
+            if (!showOrphanedSelectorsOnly || selectorResult.isOrphaned()) {
+                selectorsResults.add(selectorResult);
+            }
+        }
+        selectorsResults.sort(Comparator.comparing(SelectorResult::getNamespace));
+    }
+
     /**
      * Clears all components, model and pull all namespaces again.
      */
@@ -279,6 +298,7 @@ public class LabelsVM implements EventListener {
         searchResults = new ListModelList<>();
         groupedLabels = new ListModelList<>();
         groupedLabelColumns = new ListModelList<>();
+        selectorsResults = new ListModelList<>();
         clearAllFilterComboboxes();
     }
 
@@ -476,6 +496,22 @@ public class LabelsVM implements EventListener {
     }
 
 
+    public String getTotalSelectorsItems() {
+        return String.format("Total Items: %d", selectorsResults.size());
+    }
+
+    public ListModelList<SelectorResult> getSelectorsResults() {
+        return selectorsResults;
+    }
+
+    public boolean isShowOrphanedSelectorsOnly() {
+        return showOrphanedSelectorsOnly;
+    }
+
+    public void setShowOrphanedSelectorsOnly(boolean showOrphanedSelectorsOnly) {
+        this.showOrphanedSelectorsOnly = showOrphanedSelectorsOnly;
+    }
+
     public String getClickedLabelsGroup() {
         return "Group Items for: " + model.getClickedLabelsGroup();
     }
@@ -18,8 +18,10 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 package com.kubehelper.viewmodels;
 
 import com.google.common.collect.Iterables;
+import com.kubehelper.common.DesktopServerPush;
 import com.kubehelper.common.Global;
 import com.kubehelper.common.Resource;
+import com.kubehelper.common.matchers.SearchMode;
 import com.kubehelper.domain.filters.SearchFilter;
 import com.kubehelper.domain.models.SearchModel;
 import com.kubehelper.domain.results.SearchResult;
@@ -37,6 +39,8 @@ import org.zkoss.bind.annotation.ContextType;
 import org.zkoss.bind.annotation.Init;
 import org.zkoss.bind.annotation.NotifyChange;
 import org.zkoss.zk.ui.Component;
+import org.zkoss.zk.ui.Desktop;
+import org.zkoss.zk.ui.DesktopUnavailableException;
 import org.zkoss.zk.ui.Executions;
 import org.zkoss.zk.ui.Path;
 import org.zkoss.zk.ui.event.AfterSizeEvent;
@@ -63,9 +67,12 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.stream.StreamSupport;
 
 import static com.kubehelper.common.Resource.CLUSTER_ROLE;
@@ -120,6 +127,8 @@ public class SearchVM implements EventListener {
     private List<Resource> searchResources = Arrays.asList(ENV_VARIABLE, POD, CONFIG_MAP, SECRET, SERVICE_ACCOUNT, SERVICE, DAEMON_SET, DEPLOYMENT, REPLICA_SET, STATEFUL_SET, JOB, NAMESPACE,
             PERSISTENT_VOLUME_CLAIM, PERSISTENT_VOLUME, CLUSTER_ROLE_BINDING, CLUSTER_ROLE, ROLE_BINDING, ROLE, NETWORK_POLICY, POD_DISRUPTION_BUDGET, POD_SECURITY_POLICY);
     private ListModelList<SearchResult> searchResults = new ListModelList<>();
+    private Map<Resource, String> searchProgress = new LinkedHashMap<>();
+    private boolean searchInProgress;
 
     private SearchModel model;
 
@@ -164,15 +173,106 @@ public class SearchVM implements EventListener {
      * Searches for a string in selected resources.
      */
     @Command
-    @NotifyChange({"totalItems", "searchResults", "filter"})
+    @NotifyChange({"totalItems", "searchResults", "filter", "searchProgress", "searchInProgress"})
     public void search() {
+        if (searchInProgress) {
+            return;
+        }
         model.setFilter(new SearchFilter());
         clearAllFilterComboboxes();
+        if (model.isStreamSearchResults()) {
+            startStreamingSearch();
+            return;
+        }
         searchService.search(model, selectedResources);
         isSearchButtonPressed = true;
         onInitPreparations();
     }
 
+    /**
+     * Cancels running search. Results found so far are kept and marked as partial.
+     */
+    @Command
+    public void cancelSearch() {
+        if (searchInProgress && Objects.nonNull(model.getCancellationHandle())) {
+            model.getCancellationHandle().cancel("Search is cancelled by user.");
+        }
+    }
+
+    /**
+     * Starts search in background threads. Results of each resource type are pushed to the grid with ZK server push as soon as the type is searched.
+     */
+    private void startStreamingSearch() {
+        Desktop desktop = Executions.getCurrent().getDesktop();
+        DesktopServerPush.acquire(desktop);
+        SearchModel searchModel = model;
+        searchInProgress = true;
+        searchResults.clear();
+        searchProgress.clear();
+        searchService.getSearchedResources(selectedResources).forEach(resource -> searchProgress.put(resource, "..."));
+        searchService.searchAsync(searchModel, selectedResources,
+                (resource, partialModel) -> scheduleOnDesktop(desktop, () -> onResourceSearched(searchModel, resource, partialModel)))
+                .whenComplete((result, e) -> scheduleOnDesktop(desktop, () -> onStreamingSearchFinished(searchModel, desktop, e)));
+    }
+
+    /**
+     * Merges results of one resource type to model and grid. Called in desktop event thread.
+     *
+     * @param searchModel  - model of the search, results are dropped if model was cleared meanwhile.
+     * @param resource     - searched resource type.
+     * @param partialModel - results of resource type.
+     */
+    private void onResourceSearched(SearchModel searchModel, Resource resource, SearchModel partialModel) {
+        if (searchModel != model) {
+            return;
+        }
+        model.mergeSearchModel(partialModel);
+        searchResults.addAll(partialModel.getSearchResults());
+        searchProgress.put(resource, String.valueOf(partialModel.getSearchResults().size()));
+        BindUtils.postNotifyChange(this, "totalItems");
+        BindUtils.postNotifyChange(this, "filter");
+        BindUtils.postNotifyChange(this, "searchProgress");
+    }
+
+    /**
+     * Finishes streaming search, sorts results and shows notifications and errors. Called in desktop event thread.
+     *
+     * @param searchModel - model of the search.
+     * @param desktop     - desktop with enabled server push.
+     * @param e           - search error, null if search was successful.
+     */
+    private void onStreamingSearchFinished(SearchModel searchModel, Desktop desktop, Throwable e) {
+        searchInProgress = false;
+        DesktopServerPush.release(desktop);
+        if (searchModel != model) {
+            BindUtils.postNotifyChange(this, "searchInProgress");
+            return;
+        }
+        if (Objects.nonNull(e)) {
+            model.addException("Error at search. Message: " + e.getMessage(), new RuntimeException(e));
+            logger.error(e.getMessage(), e);
+        }
+        sortResultsByNamespace();
+        isSearchButtonPressed = true;
+        BindUtils.postNotifyChange(this, "searchResults");
+        BindUtils.postNotifyChange(this, "searchInProgress");
+        BindUtils.postNotifyChange(this, "searchProgress");
+    }
+
+    /**
+     * Runs task in desktop event thread. Used from search threads, which cannot update UI directly.
+     *
+     * @param desktop - desktop with enabled server push.
+     * @param task    - UI update.
+     */
+    private void scheduleOnDesktop(Desktop desktop, Runnable task) {
+        try {
+            Executions.schedule(desktop, event -> task.run(), new Event("onSearchProgress"));
+        } catch (DesktopUnavailableException e) {
+            logger.debug("Search results are not shown, desktop is closed. Message: {}", e.getMessage());
+        }
+    }
+
     /**
      * Select all resources command. For mark or unmark all kubernetes resources with one kubeResourcesGBoxCheckAll CheckBox.
      *
@@ -330,7 +430,7 @@ public class SearchVM implements EventListener {
             resource = POD;
             name = item.getResourceName().indexOf("[") != -1 ? item.getResourceName().substring(0, item.getResourceName().indexOf("[") - 1).trim() : item.getResourceName();
         }
-        Map<String, Object> parameters = getParametersMap(resource, name, item.getResourceName(), item.getNamespace(), item.getFullDefinition());
+        Map<String, Object> parameters = getParametersMap(resource, name, item.getResourceName(), item.getNamespace(), searchService.getFullDefinition(item.getResourceReference(), model));
         Window window = (Window) Executions.createComponents(Global.PATH_TO_RAW_RESOURCE_ZUL, null, parameters);
         window.doModal();
     }
@@ -346,12 +446,16 @@ public class SearchVM implements EventListener {
      * @return - search results
      */
     public ListModelList<SearchResult> getSearchResults() {
-        if (isSearchButtonPressed && searchResults.isEmpty()) {
+        if (isSearchButtonPressed && searchResults.isEmpty() && !model.isCancelled()) {
             Notification.show("Nothing found.", "info", searchGridTotalItemsFooter, "before_end", 2000);
         }
-        if (isSearchButtonPressed && !searchResults.isEmpty()) {
+        if (isSearchButtonPressed && !searchResults.isEmpty() && !model.isCancelled()) {
             Notification.show(String.format("Found %s items", searchResults.size()), "info", searchGridTotalItemsFooter, "before_end", 2000);
         }
+        if (isSearchButtonPressed && model.isCancelled()) {
+            Notification.show(String.format("Found %s items. Results are partial. %s", searchResults.size(), model.getCancellationHandle().getCancelReason()), "warning",
+                    searchGridTotalItemsFooter, "before_end", 5000);
+        }
         if (isSearchButtonPressed && model.hasSearchErrors()) {
             Window window = (Window) Executions.createComponents(Global.PATH_TO_ERROR_RESOURCE_ZUL, null, Map.of("errors", model.getSearchExceptions()));
             window.doModal();
@@ -395,6 +499,53 @@ public class SearchVM implements EventListener {
         this.model.setSearchString(searchString);
     }
 
+    public List<SearchMode> getSearchModes() {
+        return Arrays.asList(SearchMode.values());
+    }
+
+    public SearchMode getSearchMode() {
+        return model.getSearchMode();
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.model.setSearchMode(searchMode);
+    }
+
+    public boolean isNegateSearch() {
+        return model.isNegateSearch();
+    }
+
+    public void setNegateSearch(boolean negateSearch) {
+        this.model.setNegateSearch(negateSearch);
+    }
+
+    public boolean isStreamSearchResults() {
+        return model.isStreamSearchResults();
+    }
+
+    public void setStreamSearchResults(boolean streamSearchResults) {
+        this.model.setStreamSearchResults(streamSearchResults);
+    }
+
+    public boolean isSearchInProgress() {
+        return searchInProgress;
+    }
+
+    /**
+     * Returns found items count per searched resource type of streaming search.
+     *
+     * @return - progress text or empty string if streaming search was not started.
+     */
+    public String getSearchProgress() {
+        if (searchProgress.isEmpty()) {
+            return "";
+        }
+        long searched = searchProgress.values().stream().filter(progress -> !"...".equals(progress)).count();
+        StringJoiner progress = new StringJoiner(", ", String.format("Searched %d of %d: ", searched, searchProgress.size()), "");
+        searchProgress.forEach((resource, found) -> progress.add(resource.getKind() + " " + found));
+        return progress.toString();
+    }
+
     public SearchFilter getFilter() {
         return model.getFilter();
     }
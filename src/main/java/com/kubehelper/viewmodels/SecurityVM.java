@@ -19,12 +19,14 @@ package com.kubehelper.viewmodels;
 
 import com.kubehelper.common.Global;
 import com.kubehelper.common.Resource;
+import com.kubehelper.domain.core.RBACSubject;
 import com.kubehelper.domain.filters.RBACFilter;
 import com.kubehelper.domain.filters.RolesSecurityFilter;
 import com.kubehelper.domain.models.SecurityModel;
 import com.kubehelper.domain.results.ContainerSecurityResult;
 import com.kubehelper.domain.results.PodSecurityContextResult;
 import com.kubehelper.domain.results.PodSecurityPoliciesResult;
+import com.kubehelper.domain.results.RBACPermissionResult;
 import com.kubehelper.domain.results.RBACResult;
 import com.kubehelper.domain.results.RoleResult;
 import com.kubehelper.domain.results.RoleRuleResult;
@@ -86,6 +88,8 @@ public class SecurityVM {
     private boolean isGetContainersSecurityContextsButtonPressed;
     private boolean isGetServiceAccountsButtonPressed;
     private boolean isGetPodSecurityPoliciesButtonPressed;
+    private boolean isWhoCanButtonPressed;
+    private boolean isWhatCanButtonPressed;
 
     private SecurityModel model;
 
@@ -97,6 +101,8 @@ public class SecurityVM {
     private ListModelList<ContainerSecurityResult> containersSecurityResults = new ListModelList<>();
     private ListModelList<ServiceAccountResult> serviceAccountsResults = new ListModelList<>();
     private ListModelList<PodSecurityPoliciesResult> podsSecurityPoliciesResults = new ListModelList<>();
+    private ListModelList<RBACSubject> whoCanResults = new ListModelList<>();
+    private ListModelList<RBACPermissionResult> whatCanResults = new ListModelList<>();
 
     private String clickedRoleBindingSubjectsLabel = "";
     private String clickedRoleRulesLabel = "";
@@ -129,6 +135,12 @@ public class SecurityVM {
     @Wire
     private Footer podSecurityPoliciesGridFooter;
 
+    @Wire
+    private Footer whoCanGridFooter;
+
+    @Wire
+    private Footer whatCanGridFooter;
+
 
     @Init
     public void init() {
@@ -193,6 +205,43 @@ public class SecurityVM {
         }
     }
 
+    /**
+     * Searches for subjects which can perform verb on resource.
+     */
+    @Command
+    @NotifyChange({"whoCanTotalItems", "whoCanResults"})
+    public void whoCan() {
+        securityService.whoCan(model);
+        isWhoCanButtonPressed = true;
+        setAllNamespacesToModel();
+        whoCanResults = new ListModelList<>(model.getWhoCanResults());
+    }
+
+    /**
+     * Searches for all permissions of subject.
+     */
+    @Command
+    @NotifyChange({"whatCanTotalItems", "whatCanResults"})
+    public void whatCan() {
+        securityService.whatCan(model);
+        isWhatCanButtonPressed = true;
+        whatCanResults = new ListModelList<>(model.getWhatCanResults());
+    }
+
+    /**
+     * Shows permissions of clicked who can subject.
+     *
+     * @param item - clicked subject.
+     */
+    @Command
+    @NotifyChange({"whatCanTotalItems", "whatCanResults", "whatCanSubjectKind", "whatCanSubjectNamespace", "whatCanSubjectName"})
+    public void showSubjectPermissions(@BindingParam("clickedItem") RBACSubject item) {
+        model.setWhatCanSubjectKind(item.getKind())
+                .setWhatCanSubjectNamespace(StringUtils.defaultString(item.getNamespace()))
+                .setWhatCanSubjectName(item.getName());
+        whatCan();
+    }
+
     /**
      * Gets/Searches for all PodsSecurityContexts depends on namespace.
      */
@@ -352,6 +401,29 @@ public class SecurityVM {
         clearAllRbacFilterComboboxes();
     }
 
+    /**
+     * Clears all model items that belongs to who can / what can queries.
+     */
+    @Command
+    @NotifyChange({"whoCanTotalItems", "whoCanResults", "whatCanTotalItems", "whatCanResults", "whoCanVerb", "whoCanApiGroup", "whoCanResource",
+            "whoCanResourceName", "selectedWhoCanNamespace", "whatCanSubjectKind", "whatCanSubjectNamespace", "whatCanSubjectName"})
+    public void clearAllRbacQueries() {
+        model.setWhoCanResults(new ArrayList<>())
+                .setWhatCanResults(new ArrayList<>())
+                .setWhoCanVerb("get")
+                .setWhoCanApiGroup("")
+                .setWhoCanResource("pods")
+                .setWhoCanResourceName("")
+                .setSelectedWhoCanNamespace("all")
+                .setWhatCanSubjectKind("ServiceAccount")
+                .setWhatCanSubjectNamespace("")
+                .setWhatCanSubjectName("")
+                .setNamespaces(commonService.getAllNamespaces())
+                .setSearchExceptions(new ArrayList<>());
+        whoCanResults = new ListModelList<>();
+        whatCanResults = new ListModelList<>();
+    }
+
     /**
      * Clears all model items that belongs to PodsSecurityContexts.
      */
@@ -600,6 +672,18 @@ public class SecurityVM {
         return podsSecurityPoliciesResults;
     }
 
+    public ListModelList<RBACSubject> getWhoCanResults() {
+        showNotificationAndExceptions(isWhoCanButtonPressed, whoCanResults, whoCanGridFooter);
+        isWhoCanButtonPressed = false;
+        return whoCanResults;
+    }
+
+    public ListModelList<RBACPermissionResult> getWhatCanResults() {
+        showNotificationAndExceptions(isWhatCanButtonPressed, whatCanResults, whatCanGridFooter);
+        isWhatCanButtonPressed = false;
+        return whatCanResults;
+    }
+
 
     //  SELECTED NAMESPACES ================
 
@@ -658,6 +742,14 @@ public class SecurityVM {
         return String.format("Total Items: %d", rolesResults.size());
     }
 
+    public String getWhoCanTotalItems() {
+        return String.format("Total Items: %d", whoCanResults.size());
+    }
+
+    public String getWhatCanTotalItems() {
+        return String.format("Total Items: %d", whatCanResults.size());
+    }
+
     public String getRoleRulesTotalItems() {
         return String.format("Total Items: %d", roleRulesResults.size());
     }
@@ -782,6 +874,88 @@ public class SecurityVM {
         return centerLayoutHeight - 115 + "px";
     }
 
+    public String getWhoCanGridHeight() {
+        return (centerLayoutHeight - 245) * 0.45 + "px";
+    }
+
+    public String getWhatCanGridHeight() {
+        return (centerLayoutHeight - 245) * 0.55 + "px";
+    }
+
+    //  WHO CAN / WHAT CAN QUERIES ================
+
+    public List<String> getRbacVerbs() {
+        return List.of("get", "list", "watch", "create", "update", "patch", "delete", "deletecollection", "*");
+    }
+
+    public List<String> getRbacSubjectKinds() {
+        return List.of("ServiceAccount", "User", "Group");
+    }
+
+    public String getWhoCanVerb() {
+        return model.getWhoCanVerb();
+    }
+
+    public void setWhoCanVerb(String whoCanVerb) {
+        model.setWhoCanVerb(whoCanVerb);
+    }
+
+    public String getWhoCanApiGroup() {
+        return model.getWhoCanApiGroup();
+    }
+
+    public void setWhoCanApiGroup(String whoCanApiGroup) {
+        model.setWhoCanApiGroup(whoCanApiGroup);
+    }
+
+    public String getWhoCanResource() {
+        return model.getWhoCanResource();
+    }
+
+    public void setWhoCanResource(String whoCanResource) {
+        model.setWhoCanResource(whoCanResource);
+    }
+
+    public String getWhoCanResourceName() {
+        return model.getWhoCanResourceName();
+    }
+
+    public void setWhoCanResourceName(String whoCanResourceName) {
+        model.setWhoCanResourceName(whoCanResourceName);
+    }
+
+    public String getSelectedWhoCanNamespace() {
+        return model.getSelectedWhoCanNamespace();
+    }
+
+    public void setSelectedWhoCanNamespace(String selectedWhoCanNamespace) {
+        model.setSelectedWhoCanNamespace(selectedWhoCanNamespace);
+    }
+
+    public String getWhatCanSubjectKind() {
+        return model.getWhatCanSubjectKind();
+    }
+
+    public void setWhatCanSubjectKind(String whatCanSubjectKind) {
+        model.setWhatCanSubjectKind(whatCanSubjectKind);
+    }
+
+    public String getWhatCanSubjectNamespace() {
+        return model.getWhatCanSubjectNamespace();
+    }
+
+    public void setWhatCanSubjectNamespace(String whatCanSubjectNamespace) {
+        model.setWhatCanSubjectNamespace(whatCanSubjectNamespace);
+    }
+
+    public String getWhatCanSubjectName() {
+        return model.getWhatCanSubjectName();
+    }
+
+    public void setWhatCanSubjectName(String whatCanSubjectName) {
+        model.setWhatCanSubjectName(whatCanSubjectName);
+    }
+
     public boolean isSkipKubeNamespaces() {
         return model.isSkipKubeNamespaces();
     }
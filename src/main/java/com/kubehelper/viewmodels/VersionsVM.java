@@ -20,7 +20,7 @@ package com.kubehelper.viewmodels;
 import com.kubehelper.common.Global;
 import com.kubehelper.domain.models.VersionsModel;
 import com.kubehelper.domain.results.UtilResult;
-import com.kubehelper.services.CommonService;
+import com.kubehelper.services.CommandExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zkoss.bind.BindUtils;
@@ -49,13 +49,15 @@ import java.util.List;
 public class VersionsVM {
 
     private static Logger logger = LoggerFactory.getLogger(VersionsVM.class);
+    private static final long VERSION_CHECK_TIMEOUT_SECONDS = 10;
+
     private int centerLayoutHeight = 700;
 
     private VersionsModel versionsModel;
     private ListModelList<UtilResult> versionsResults = new ListModelList<>();
 
     @WireVariable
-    private CommonService commonService;
+    private CommandExecutorService commandExecutorService;
 
     @Init
     public void init() {
@@ -88,7 +90,7 @@ public class VersionsVM {
      */
     private void onInitPreparations() {
         List<UtilResult> utilsResults = versionsModel.getUtilsResults();
-        utilsResults.forEach(util -> util.setVersion(commonService.executeCommand("bash", util.getVersionCheckCommand())));
+        utilsResults.forEach(util -> util.setVersion(commandExecutorService.execute("bash", util.getVersionCheckCommand(), VERSION_CHECK_TIMEOUT_SECONDS).getOutput()));
         versionsResults = new ListModelList<>(utilsResults);
     }
 
@@ -149,7 +149,7 @@ public class RawResourceVM implements EventListener<Event> {
         if (isCustomResource("yaml")) return;
 
         if (StringUtils.isBlank(this.yaml)) {
-            this.yaml = commonService.getYamlResource(resource, name);
+            this.yaml = commonService.getYamlResource(resource, name, namespace);
 
             if (isResourceEmpty(this.yaml, "yaml")) return;
 